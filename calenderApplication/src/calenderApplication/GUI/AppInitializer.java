@@ -4,51 +4,107 @@
  */
 package calenderApplication.GUI; 
 
+import calenderApplication.dataLayer.BinarySnapshot;
 import calenderApplication.dataLayer.FileIOManager; 
 import calenderApplication.businessLogic.*;       
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import javax.swing.*;
-import java.util.Timer;
-import java.util.TimerTask;
 
 public class AppInitializer {
     public static void main(String[] args) {
+        long startNanos = System.nanoTime();
 
-        // 1. Initialize the data layer
-        FileIOManager ioManager = new FileIOManager();
-
-        // 2. Initialize the business layer and inject dependencies
-        EventManager eventManager = new EventManager(ioManager);
-        ReminderManager reminderManager = new ReminderManager(eventManager, ioManager);
-
-        // 3. Start the GUI and inject the business manager
+        // 1. Show the frame right away in its loading state; the data is loaded in the background
         SwingUtilities.invokeLater(() -> {
-            CalendarAppGUI gui = new CalendarAppGUI(eventManager, reminderManager);
+            CalendarAppGUI gui = new CalendarAppGUI();
             gui.setVisible(true);
+            logPhase("window shown", startNanos);
+            new StartupLoader(gui, startNanos).execute();
         });
-        
-        startReminderDaemon(reminderManager);
     }
 
     /**
-     * Background guardian thread: Checks every 60 seconds to see if any upcoming reminders are available.
+     * Loads the data and builds the managers off the EDT, reporting each phase on the loading
+     * screen and in the log. When done, the views are filled in and the reminder daemon starts.
      */
-    private static void startReminderDaemon(ReminderManager reminderManager) {
-        Timer timer = new Timer(true);
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                List<String> activeReminders = reminderManager.getUpcomingReminders();
-                if (!activeReminders.isEmpty()) {
-                    for (String msg : activeReminders) {
-                        // In the UI thread, a reminder window is popped up.
-                        SwingUtilities.invokeLater(() -> {
-                            JOptionPane.showMessageDialog(null, msg, "Event Reminder", 
-                                JOptionPane.INFORMATION_MESSAGE);
-                        });
-                    }
-                }
+    private static class StartupLoader extends SwingWorker<EventManager, String> {
+        private final CalendarAppGUI gui;
+        private final long startNanos;
+        private ReminderManager reminderManager;
+
+        StartupLoader(CalendarAppGUI gui, long startNanos) {
+            this.gui = gui;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        protected EventManager doInBackground() {
+            // 2. Initialize the data layer (journal mode: edits are appended to *.log instead of rewriting the CSVs)
+            long t = System.nanoTime();
+            FileIOManager ioManager = new FileIOManager(true);
+            logPhase("data layer", t);
+
+            // 3. Read all three tables once; both managers are built from the same snapshot
+            publish("Loading events...");
+            t = System.nanoTime();
+            BinarySnapshot snapshot = ioManager.loadSnapshot();
+            logPhase("snapshot loaded", t);
+
+            // 4. Initialize the business layer and inject dependencies
+            t = System.nanoTime();
+            EventManager eventManager = new EventManager(ioManager, snapshot);
+            logPhase("events indexed (" + eventManager.getBaseEventCount() + ")", t);
+
+            publish("Loading reminders...");
+            t = System.nanoTime();
+            reminderManager = new ReminderManager(eventManager, ioManager, snapshot.getReminders());
+            eventManager.setReminderManager(reminderManager);
+            logPhase("reminders loaded", t);
+            return eventManager;
+        }
+
+        @Override
+        protected void process(List<String> phases) {
+            gui.setLoadingMessage(phases.get(phases.size() - 1));
+        }
+
+        @Override
+        protected void done() {
+            EventManager eventManager;
+            try {
+                eventManager = get();
+            } catch (InterruptedException | ExecutionException e) {
+                Throwable cause = (e.getCause() != null) ? e.getCause() : e;
+                System.err.println("Startup failed: " + cause);
+                gui.setLoadingMessage("Failed to load calendar data: " + cause.getMessage());
+                return;
             }
-        }, 5000, 60000); // It starts 5 seconds after startup and executes once every minute.
+
+            // 5. Fill in the views and start reminders
+            long t = System.nanoTime();
+            gui.attachManagers(eventManager, reminderManager);
+            logPhase("views built", t);
+
+            startReminderDaemon(reminderManager);
+            logPhase("startup complete", startNanos);
+        }
+    }
+
+    private static void logPhase(String phase, long sinceNanos) {
+        System.out.println("[startup] " + phase + ": " + (System.nanoTime() - sinceNanos) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Background reminder thread: sleeps until the earliest pending reminder is due and fires each one once.
+     */
+    private static void startReminderDaemon(ReminderManager reminderManager) {
+        reminderManager.startScheduler(msg -> {
+            // In the UI thread, a reminder window is popped up.
+            SwingUtilities.invokeLater(() -> {
+                JOptionPane.showMessageDialog(null, msg, "Event Reminder", 
+                    JOptionPane.INFORMATION_MESSAGE);
+            });
+        });
     }
 }
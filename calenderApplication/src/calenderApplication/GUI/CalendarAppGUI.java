@@ -4,31 +4,46 @@
  */
 package calenderApplication.GUI;
 
+import calenderApplication.businessLogic.EventChange;
 import calenderApplication.businessLogic.EventManager;
 import calenderApplication.businessLogic.ReminderManager;
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 
 public class CalendarAppGUI extends JFrame {
-    private final EventManager manager;
-    private final ReminderManager reminderManager;
+    // null until the data has loaded (see attachManagers)
+    private EventManager manager;
+    private ReminderManager reminderManager;
     
     private CardLayout cardLayout;
     private JPanel mainContainer;
     
     private WeekPanel weekView;
     private JPanel yearView;
+    private final List<MonthPanel> yearMonths = new ArrayList<>();
     private JPanel monthViewContainer;
+    private MonthPanel monthView;
+    private JLabel loadingLabel;
     
     private String currentViewTag = "YEAR_VIEW";
     private LocalDate currentContextDate = LocalDate.now();
 
     public CalendarAppGUI(EventManager evManager, ReminderManager remManager) {
-        this.manager = evManager;
-        this.reminderManager = remManager;
+        this();
+        attachManagers(evManager, remManager);
+    }
 
+    /**
+     * Frame in its loading state: navigation bar and a loading message, no views yet.
+     * Call attachManagers once the data has been loaded.
+     */
+    public CalendarAppGUI() {
         Locale.setDefault(Locale.ENGLISH);
 
         setTitle("2026 Smart Calendar - Professional Edition");
@@ -44,13 +59,40 @@ public class CalendarAppGUI extends JFrame {
         mainContainer = new JPanel(cardLayout);
         mainContainer.setBackground(Color.BLACK);
 
+        initLoadingView();
+
+        add(mainContainer, BorderLayout.CENTER);
+        
+        showView("LOADING_VIEW");
+    }
+
+    /**
+     * Build the views once the managers are ready (on the EDT).
+     */
+    public void attachManagers(EventManager evManager, ReminderManager remManager) {
+        this.manager = evManager;
+        this.reminderManager = remManager;
+
         initYearView();             
         initMonthViewContainer();   
         initWeekView(LocalDate.now()); 
 
-        add(mainContainer, BorderLayout.CENTER);
-        
+        // 数据变更时只更新受影响的日期格子
+        manager.addChangeListener(change -> {
+            if (SwingUtilities.isEventDispatchThread()) applyChange(change);
+            else SwingUtilities.invokeLater(() -> applyChange(change));
+        });
+
         showView("YEAR_VIEW");
+        mainContainer.revalidate();
+        mainContainer.repaint();
+    }
+
+    /**
+     * Text shown while the data is loading, e.g. the current startup phase or an error.
+     */
+    public void setLoadingMessage(String message) {
+        loadingLabel.setText(message);
     }
 
     private void initNavigationBar() {
@@ -66,7 +108,7 @@ public class CalendarAppGUI extends JFrame {
         styleNavButton(btnWeek);
         
         // 导航按钮切换逻辑
-        btnYear.addActionListener(e -> showView("YEAR_VIEW"));
+        btnYear.addActionListener(e -> { if (manager != null) showView("YEAR_VIEW"); });
         btnMonth.addActionListener(e -> showMonthView(currentContextDate));
         btnWeek.addActionListener(e -> showWeekView(currentContextDate));
         
@@ -76,14 +118,22 @@ public class CalendarAppGUI extends JFrame {
         add(navBar, BorderLayout.NORTH);
     }
 
+    private void initLoadingView() {
+        loadingLabel = new JLabel("Loading calendar...", JLabel.CENTER);
+        loadingLabel.setForeground(new Color(150, 150, 150));
+        loadingLabel.setFont(new Font("SansSerif", Font.PLAIN, 16));
+        JPanel loadingView = new JPanel(new BorderLayout());
+        loadingView.setBackground(Color.BLACK);
+        loadingView.add(loadingLabel, BorderLayout.CENTER);
+        mainContainer.add(loadingView, "LOADING_VIEW");
+    }
+
     private void initYearView() {
         yearView = new JPanel(new GridLayout(3, 4, 15, 15));
         yearView.setBackground(Color.BLACK);
         yearView.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
-        for (int i = 1; i <= 12; i++) {
-            yearView.add(new MonthPanel(2026, i, manager, reminderManager, this));
-        }
+        fillYearView(2026);
 
         JScrollPane scrollPane = new JScrollPane(yearView);
         scrollPane.setBorder(null);
@@ -91,6 +141,31 @@ public class CalendarAppGUI extends JFrame {
         mainContainer.add(scrollPane, "YEAR_VIEW");
     }
 
+    // 一次取出全年每天的事件数，再按月切片交给 MonthPanel
+    private void fillYearView(int year) {
+        int[] occupancy = manager.getOccupancy(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+        for (int i = 1; i <= 12; i++) {
+            MonthPanel mp = new MonthPanel(year, i, manager, reminderManager, this, monthSlice(occupancy, YearMonth.of(year, i)));
+            yearMonths.add(mp);
+            yearView.add(mp);
+        }
+    }
+
+    // package-private for the tests
+    static int[] monthSlice(int[] yearOccupancy, YearMonth ym) {
+        int first = ym.atDay(1).getDayOfYear() - 1;
+        return Arrays.copyOfRange(yearOccupancy, first, first + ym.lengthOfMonth());
+    }
+
+    /**
+     * Apply one change notification: only the affected day cells are updated.
+     */
+    private void applyChange(EventChange change) {
+        for (MonthPanel mp : yearMonths) mp.eventsChanged(change);
+        if (monthView != null) monthView.eventsChanged(change);
+        weekView.eventsChanged(change);
+    }
+
     private void initMonthViewContainer() {
         monthViewContainer = new JPanel(new BorderLayout());
         monthViewContainer.setBackground(Color.BLACK);
@@ -102,25 +177,30 @@ public class CalendarAppGUI extends JFrame {
         mainContainer.add(weekView, "WEEK_VIEW");
     }
 
+    /**
+     * Reload every view from the data, reusing the existing panels.
+     */
     public void refreshAllViews() {
-        yearView.removeAll();
-        for (int i = 1; i <= 12; i++) {
-            yearView.add(new MonthPanel(2026, i, manager, reminderManager, this));
+        if (manager == null) return;
+        int[] occupancy = manager.getOccupancy(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31));
+        for (MonthPanel mp : yearMonths) mp.setOccupancy(monthSlice(occupancy, mp.getYearMonth()));
+
+        if (monthView != null) {
+            YearMonth ym = monthView.getYearMonth();
+            monthView.setOccupancy(manager.getOccupancy(ym.atDay(1), ym.atEndOfMonth()));
         }
         
-        showMonthView(currentContextDate);
-        
         weekView.refreshUI();
-        
-        yearView.revalidate();
-        yearView.repaint();
     }
 
     public void showMonthView(LocalDate date) {
+        if (manager == null) return; // still loading
         this.currentContextDate = date;
-        monthViewContainer.removeAll();
-        MonthPanel mp = new MonthPanel(date.getYear(), date.getMonthValue(), manager, reminderManager, this);
-        monthViewContainer.add(mp, BorderLayout.CENTER);
+        if (monthView == null || !monthView.getYearMonth().equals(YearMonth.from(date))) {
+            monthViewContainer.removeAll();
+            monthView = new MonthPanel(date.getYear(), date.getMonthValue(), manager, reminderManager, this);
+            monthViewContainer.add(monthView, BorderLayout.CENTER);
+        }
         
         showView("MONTH_VIEW");
         monthViewContainer.revalidate();
@@ -128,14 +208,11 @@ public class CalendarAppGUI extends JFrame {
     }
 
     public void showWeekView(LocalDate date) {
+        if (manager == null) return; // still loading
         this.currentContextDate = date;
-        mainContainer.remove(weekView);
-        weekView = new WeekPanel(date, manager, reminderManager, this);
-        mainContainer.add(weekView, "WEEK_VIEW");
+        weekView.showWeek(date);
         
         showView("WEEK_VIEW");
-        mainContainer.revalidate();
-        mainContainer.repaint();
     }
 
     private void showView(String tag) {
@@ -0,0 +1,71 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package calenderApplication.GUI;
+
+import calenderApplication.businessLogic.Event;
+import calenderApplication.businessLogic.EventManager;
+import java.time.LocalDate;
+import java.util.List;
+import javax.swing.AbstractListModel;
+
+/**
+ * List model over the occurrences of one day, read lazily from EventManager's day index.
+ *
+ * Only the row count is fetched up front. Rows are loaded a page at a time when the JList asks
+ * for them, and with a fixed cell size it only asks for the visible rows, so a day with tens of
+ * thousands of occurrences opens as fast as an empty one. Call reload() after the day changed.
+ */
+public class DayEventListModel extends AbstractListModel<Event> {
+    private static final int PAGE_SIZE = 64;
+
+    private final EventManager manager;
+    private LocalDate date;
+    private int size = 0;
+    // the page most recently read
+    private int pageStart = 0;
+    private List<Event> page = null;
+
+    public DayEventListModel(EventManager manager, LocalDate date) {
+        this.manager = manager;
+        setDate(date);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /** Show another day (or the same day again after a change). */
+    public void setDate(LocalDate date) {
+        this.date = date;
+        reload();
+    }
+
+    /** Re-read the row count and drop the cached page. */
+    public void reload() {
+        int oldSize = size;
+        size = (manager == null || date == null) ? 0 : manager.getEventCountForDate(date);
+        page = null;
+        if (oldSize > size) fireIntervalRemoved(this, size, oldSize - 1);
+        if (size > oldSize) fireIntervalAdded(this, oldSize, size - 1);
+        if (Math.min(oldSize, size) > 0) fireContentsChanged(this, 0, Math.min(oldSize, size) - 1);
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /** The occurrence at the row; null if the day shrank since the last reload. */
+    @Override
+    public Event getElementAt(int index) {
+        if (index < 0 || index >= size) return null;
+        if (page == null || index < pageStart || index >= pageStart + PAGE_SIZE) {
+            pageStart = index - index % PAGE_SIZE;
+            page = manager.getEventsForDate(date, pageStart, PAGE_SIZE);
+        }
+        int i = index - pageStart;
+        return (i < page.size()) ? page.get(i) : null;
+    }
+}
@@ -9,7 +9,6 @@ import calenderApplication.businessLogic.ReminderManager;
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
-import java.util.List;
 
 public class EventListDialog extends JDialog {
     private final EventManager eventManager;
@@ -17,8 +16,8 @@ public class EventListDialog extends JDialog {
     private final LocalDate selectedDate;
     private final Frame owner;
     
-    // Use the packaging class or custom list items to store Event objects
-    private DefaultListModel<calenderApplication.businessLogic.Event> listModel;
+    // Rows are read lazily from the day index, only for the visible part of the list
+    private DayEventListModel listModel;
     private JList<calenderApplication.businessLogic.Event> eventJList;
 
     public EventListDialog(Frame owner, LocalDate date, EventManager em, ReminderManager rm) {
@@ -51,24 +50,29 @@ public class EventListDialog extends JDialog {
         topPanel.add(createBtn, BorderLayout.EAST);
         add(topPanel, BorderLayout.NORTH);
 
-        listModel = new DefaultListModel<>();
-        refreshListData(); 
+        listModel = new DayEventListModel(eventManager, selectedDate);
 
         eventJList = new JList<>(listModel);
         eventJList.setBackground(new Color(44, 44, 46));
         eventJList.setForeground(Color.WHITE);
         eventJList.setSelectionBackground(new Color(60, 60, 60));
         eventJList.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        // fixed cell size: the list never measures rows it does not show
         eventJList.setFixedCellHeight(40);
+        eventJList.setFixedCellWidth(380);
         eventJList.setCellRenderer(new DefaultListCellRenderer() {
+            private final javax.swing.border.Border rowBorder = BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(60, 60, 60));
+
             @Override
             public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
                 super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
                 if (value instanceof calenderApplication.businessLogic.Event) {
                     calenderApplication.businessLogic.Event ev = (calenderApplication.businessLogic.Event) value;
                     setText("  " + ev.getStartDateTimeAsLdt().toLocalTime() + " | " + ev.getTitle());
+                } else {
+                    setText(""); // removed since the list was loaded
                 }
-                setBorder(BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(60, 60, 60)));
+                setBorder(rowBorder);
                 return this;
             }
         });
@@ -94,11 +98,8 @@ public class EventListDialog extends JDialog {
     }
 
     private void refreshListData() {
-        listModel.clear();
-        List<calenderApplication.businessLogic.Event> events = eventManager.getEventsForDate(selectedDate);
-        for (calenderApplication.businessLogic.Event ev : events) {
-            listModel.addElement(ev);
-        }
+        eventJList.clearSelection();
+        listModel.reload();
     }
 
     private void performDelete() {
@@ -116,7 +117,7 @@ public class EventListDialog extends JDialog {
             boolean success = eventManager.deleteEvent(selectedEvent.getEventId());
             if (success) {
                 refreshListData(); 
-                if (listModel.isEmpty()) {
+                if (listModel.getSize() == 0) {
                     JOptionPane.showMessageDialog(this, "All events deleted for this day.");
                 }
             } else {
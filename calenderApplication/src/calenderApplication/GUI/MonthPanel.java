@@ -7,17 +7,31 @@ package calenderApplication.GUI;
 import calenderApplication.businessLogic.*;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.List;
 
 public class MonthPanel extends JPanel {
     private YearMonth yearMonth;
     private EventManager manager;
     private ReminderManager reminderManager;
     private Frame owner;
+    private DayGrid dayGrid;
 
     public MonthPanel(int year, int month, EventManager manager, ReminderManager reminderManager, Frame owner) {
+        this(year, month, manager, reminderManager, owner, null);
+    }
+
+    /**
+     * occupancy: events per day of this month (index 0 = day 1), e.g. a slice of
+     * EventManager.getOccupancy for the whole year; null to look the month up here.
+     */
+    public MonthPanel(int year, int month, EventManager manager, ReminderManager reminderManager, Frame owner, int[] occupancy) {
         this.yearMonth = YearMonth.of(year, month);
         this.manager = manager;
         this.reminderManager = reminderManager;
@@ -31,92 +45,228 @@ public class MonthPanel extends JPanel {
         title.setFont(new Font("SansSerif", Font.BOLD, 18));
         title.setBorder(BorderFactory.createEmptyBorder(5, 5, 10, 5));
         add(title, BorderLayout.NORTH);
-        JPanel dayGrid = new JPanel(new GridLayout(0, 7));
-        dayGrid.setOpaque(false);
+        if (occupancy == null) occupancy = loadOccupancy(yearMonth.atDay(1), yearMonth.atEndOfMonth());
 
-        // Fill in the blank spaces before the month.
-        int startOffset = yearMonth.atDay(1).getDayOfWeek().getValue() % 7;
-        for (int i = 0; i < startOffset; i++) dayGrid.add(new JLabel(""));
+        // The whole day grid is a single painted component
+        dayGrid = new DayGrid();
+        setOccupancy(occupancy);
+        add(dayGrid, BorderLayout.CENTER);
+    }
 
-        // Fill in the date
-        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
-            final int d = day;
-            LocalDate date = yearMonth.atDay(d);
-            
-            //Check whether there are any events for this date (make sure that EventManager.getEventsForDate has been implemented)
-            boolean hasEvents = checkHasEvents(date);
-
-            DayButton btn = new DayButton(String.valueOf(day), hasEvents);
-            
-            //Highlight today
-            if (LocalDate.now().equals(date)) {
-                btn.setForeground(new Color(255, 59, 48));
-                btn.setFont(new Font("SansSerif", Font.BOLD, 14));
-            }
+    /**
+     * Auxiliary method: Per-day event counts for a date range, from the day index in one pass
+     */
+    private int[] loadOccupancy(LocalDate from, LocalDate to) {
+        if (manager == null) return new int[0];
+        return manager.getOccupancy(from, to);
+    }
 
-            btn.addActionListener(e -> {
-                EventListDialog listDialog = new EventListDialog(owner, date, manager, reminderManager);
-                listDialog.setVisible(true);
-                //  After the dialog box is closed, recheck the data status and refresh the UI
-                refreshDayButton(btn, date);
-            });
-            dayGrid.add(btn);
-        }
-        add(dayGrid, BorderLayout.CENTER);
+    public YearMonth getYearMonth() {
+        return yearMonth;
     }
 
     /**
-     * Auxiliary method: Check if there are any events on a specific date
+     * Update the event dots from fresh per-day counts for this month (index 0 = day 1).
      */
-private boolean checkHasEvents(LocalDate date) {
-        if (manager == null) return false;
-        List<calenderApplication.businessLogic.Event> events = manager.getEventsForDate(date);
-        return events != null && !events.isEmpty();
+    public void setOccupancy(int[] occupancy) {
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+            dayGrid.setHasEvents(day, day <= occupancy.length && occupancy[day - 1] > 0);
+        }
     }
 
     /**
-     * Auxiliary method: Refresh the status of individual buttons after the operation is completed.
+     * Re-check only the days of this month that the change touched; other cells are left alone.
      */
-    private void refreshDayButton(DayButton btn, LocalDate date) {
-        boolean hasEvents = checkHasEvents(date);
-        btn.setHasEvents(hasEvents);
-        btn.repaint(); 
+    public void eventsChanged(EventChange change) {
+        for (LocalDate date : change.affectedDays(yearMonth.atDay(1), yearMonth.atEndOfMonth())) {
+            int[] count = loadOccupancy(date, date);
+            dayGrid.setHasEvents(date.getDayOfMonth(), count.length > 0 && count[0] > 0);
+        }
+    }
+
+    private void openDay(int day) {
+        EventListDialog listDialog = new EventListDialog(owner, yearMonth.atDay(day), manager, reminderManager);
+        listDialog.setVisible(true);
+        // changes made in the dialog come back through eventsChanged
     }
 
     /**
-     * Internal class: Date button with event indicator dot
+     * Internal class: The month's day grid (Sunday first), painted in one pass.
+     * Clicks are mapped to a day by hit-testing; only cells whose state changes are repainted.
+     * Keyboard: the grid takes focus like the old day buttons did, the arrow keys move the
+     * focused day and Space/Enter open it.
      */
-private static class DayButton extends JButton {
-        private boolean hasEvents;
-
-        public DayButton(String text, boolean hasEvents) {
-            super(text);
-            this.hasEvents = hasEvents;
-            setForeground(Color.WHITE);
-            setContentAreaFilled(false);
-            setBorderPainted(false);
-            setFocusPainted(false);
-            setCursor(new Cursor(Cursor.HAND_CURSOR));
+    private class DayGrid extends JComponent {
+        // Shared by every month: created once, not on each paint
+        private static final Color PRESSED_COLOR = new Color(60, 60, 60);
+        private static final Color DOT_COLOR = new Color(150, 150, 150);
+        private static final Color TODAY_COLOR = new Color(255, 59, 48);
+        private static final Color FOCUS_COLOR = new Color(120, 120, 120);
+        private static final Font TODAY_FONT = new Font("SansSerif", Font.BOLD, 14);
+        private static final int CELL_WIDTH = 44;
+        private static final int CELL_HEIGHT = 28;
+
+        private final Font dayFont;
+        private final int startOffset;
+        private final int rows;
+        private final boolean[] hasEvents; // index = day of month - 1
+        private int pressedDay = 0;        // 0 = none
+        private int focusedDay = 0;        // 0 = not chosen yet
+
+        DayGrid() {
+            Font buttonFont = UIManager.getFont("Button.font");
+            this.dayFont = (buttonFont != null) ? buttonFont : new Font("Dialog", Font.BOLD, 12);
+            this.startOffset = yearMonth.atDay(1).getDayOfWeek().getValue() % 7;
+            this.rows = (startOffset + yearMonth.lengthOfMonth() + 6) / 7;
+            this.hasEvents = new boolean[yearMonth.lengthOfMonth()];
+            setOpaque(false);
+            setPreferredSize(new Dimension(7 * CELL_WIDTH, rows * CELL_HEIGHT));
+            setFocusable(true);
+
+            MouseAdapter mouse = new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    if (!SwingUtilities.isLeftMouseButton(e)) return;
+                    int day = dayAt(e.getX(), e.getY());
+                    setPressedDay(day);
+                    if (day != 0) {
+                        setFocusedDay(day);
+                        requestFocusInWindow();
+                    }
+                }
+
+                @Override
+                public void mouseReleased(MouseEvent e) {
+                    if (!SwingUtilities.isLeftMouseButton(e)) return;
+                    int day = pressedDay;
+                    setPressedDay(0);
+                    if (day != 0 && day == dayAt(e.getX(), e.getY())) openDay(day);
+                }
+
+                @Override
+                public void mouseMoved(MouseEvent e) {
+                    setCursor(dayAt(e.getX(), e.getY()) != 0 ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : null);
+                }
+            };
+            addMouseListener(mouse);
+            addMouseMotionListener(mouse);
+
+            addFocusListener(new FocusAdapter() {
+                @Override
+                public void focusGained(FocusEvent e) {
+                    if (focusedDay == 0) {
+                        LocalDate today = LocalDate.now();
+                        focusedDay = YearMonth.from(today).equals(yearMonth) ? today.getDayOfMonth() : 1;
+                    }
+                    repaint(cellBounds(focusedDay));
+                }
+
+                @Override
+                public void focusLost(FocusEvent e) {
+                    if (focusedDay != 0) repaint(cellBounds(focusedDay));
+                }
+            });
+            bindKey(KeyEvent.VK_LEFT, "previousDay", () -> moveFocus(-1));
+            bindKey(KeyEvent.VK_RIGHT, "nextDay", () -> moveFocus(1));
+            bindKey(KeyEvent.VK_UP, "previousWeek", () -> moveFocus(-7));
+            bindKey(KeyEvent.VK_DOWN, "nextWeek", () -> moveFocus(7));
+            bindKey(KeyEvent.VK_SPACE, "openDay", () -> { if (focusedDay != 0) openDay(focusedDay); });
+            bindKey(KeyEvent.VK_ENTER, "openDay", () -> { if (focusedDay != 0) openDay(focusedDay); });
+        }
+
+        private void bindKey(int keyCode, String name, Runnable action) {
+            getInputMap(WHEN_FOCUSED).put(KeyStroke.getKeyStroke(keyCode, 0), name);
+            getActionMap().put(name, new AbstractAction() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    action.run();
+                }
+            });
+        }
+
+        // stays inside this month; the arrow keys do not jump to the neighbouring panel
+        private void moveFocus(int days) {
+            int day = focusedDay + days;
+            if (focusedDay != 0 && day >= 1 && day <= hasEvents.length) setFocusedDay(day);
+        }
+
+        private void setFocusedDay(int day) {
+            if (focusedDay == day) return;
+            if (focusedDay != 0) repaint(cellBounds(focusedDay));
+            focusedDay = day;
+            repaint(cellBounds(day));
         }
 
-        public void setHasEvents(boolean hasEvents) {
-            this.hasEvents = hasEvents;
+        void setHasEvents(int day, boolean value) {
+            if (hasEvents[day - 1] == value) return;
+            hasEvents[day - 1] = value;
+            repaint(cellBounds(day));
+        }
+
+        private void setPressedDay(int day) {
+            if (pressedDay == day) return;
+            if (pressedDay != 0) repaint(cellBounds(pressedDay));
+            pressedDay = day;
+            if (day != 0) repaint(cellBounds(day));
+        }
+
+        /** Day of month under the point, or 0 for the blank cells and outside the grid. */
+        private int dayAt(int x, int y) {
+            if (x < 0 || y < 0 || x >= getWidth() || y >= getHeight()) return 0;
+            int col = x * 7 / getWidth();
+            int row = y * rows / getHeight();
+            int day = row * 7 + col - startOffset + 1;
+            return (day >= 1 && day <= hasEvents.length) ? day : 0;
+        }
+
+        // cells split the width and height like GridLayout, so the grid scales with the panel
+        private Rectangle cellBounds(int day) {
+            int cell = startOffset + day - 1;
+            int col = cell % 7;
+            int row = cell / 7;
+            int x0 = col * getWidth() / 7;
+            int x1 = (col + 1) * getWidth() / 7;
+            int y0 = row * getHeight() / rows;
+            int y1 = (row + 1) * getHeight() / rows;
+            return new Rectangle(x0, y0, x1 - x0, y1 - y0);
         }
 
         @Override
         protected void paintComponent(Graphics g) {
-            if (getModel().isPressed()) {
-                g.setColor(new Color(60, 60, 60));
-                g.fillOval(5, 5, getWidth() - 10, getHeight() - 10);
-            }
-            
-            super.paintComponent(g);
-            if (hasEvents) {
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                g2d.setColor(new Color(150, 150, 150)); 
-                g2d.fillOval((getWidth() - 4) / 2, getHeight() - 10, 4, 4);
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            Rectangle clip = g.getClipBounds();
+            LocalDate today = LocalDate.now();
+            int todayDay = YearMonth.from(today).equals(yearMonth) ? today.getDayOfMonth() : 0;
+
+            for (int day = 1; day <= hasEvents.length; day++) {
+                Rectangle r = cellBounds(day);
+                if (clip != null && !clip.intersects(r)) continue;
+
+                if (day == pressedDay) {
+                    g2d.setColor(PRESSED_COLOR);
+                    g2d.fillOval(r.x + 5, r.y + 5, r.width - 10, r.height - 10);
+                }
+                if (day == focusedDay && isFocusOwner()) {
+                    g2d.setColor(FOCUS_COLOR);
+                    g2d.drawOval(r.x + 5, r.y + 5, r.width - 11, r.height - 11);
+                }
+
+                // Highlight today
+                Font font = (day == todayDay) ? TODAY_FONT : dayFont;
+                g2d.setFont(font);
+                g2d.setColor(day == todayDay ? TODAY_COLOR : Color.WHITE);
+                FontMetrics fm = g2d.getFontMetrics(font);
+                String text = String.valueOf(day);
+                g2d.drawString(text, r.x + (r.width - fm.stringWidth(text)) / 2,
+                               r.y + (r.height - fm.getHeight()) / 2 + fm.getAscent());
+
+                if (hasEvents[day - 1]) {
+                    g2d.setColor(DOT_COLOR);
+                    g2d.fillOval(r.x + (r.width - 4) / 2, r.y + r.height - 10, 4, 4);
+                }
             }
         }
     }
-}
\ No newline at end of file
+}
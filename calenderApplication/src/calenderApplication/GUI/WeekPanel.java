@@ -4,13 +4,14 @@
  */
 package calenderApplication.GUI;
 
+import calenderApplication.businessLogic.Event;
+import calenderApplication.businessLogic.EventChange;
 import calenderApplication.businessLogic.EventManager;
 import calenderApplication.businessLogic.ReminderManager;
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 public class WeekPanel extends JPanel {
     private final EventManager manager;
@@ -18,6 +19,10 @@ public class WeekPanel extends JPanel {
     private final Frame owner;
     private LocalDate weekStartDate; 
 
+    // built once; navigation and changes only update their contents
+    private final JLabel titleLabel = new JLabel();
+    private final DayColumn[] columns = new DayColumn[7];
+
     public WeekPanel(LocalDate referenceDate, EventManager manager, ReminderManager reminderManager, Frame owner) {
         this.manager = manager;
         this.reminderManager = reminderManager;
@@ -27,19 +32,15 @@ public class WeekPanel extends JPanel {
         
         setLayout(new BorderLayout());
         setBackground(Color.BLACK);
+        buildUI();
         refreshUI();
     }
 
-    public void refreshUI() {
-        removeAll();
-
+    private void buildUI() {
         JPanel topPanel = new JPanel(new BorderLayout());
         topPanel.setOpaque(false);
         topPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
 
-        LocalDate weekEndDate = weekStartDate.plusDays(6);
-        JLabel titleLabel = new JLabel(weekStartDate.format(DateTimeFormatter.ofPattern("MMM dd")) + 
-                                     " - " + weekEndDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")));
         titleLabel.setForeground(new Color(255, 59, 48));
         titleLabel.setFont(new Font("SansSerif", Font.BOLD, 20));
         topPanel.add(titleLabel, BorderLayout.WEST);
@@ -66,69 +67,110 @@ public class WeekPanel extends JPanel {
         grid.setOpaque(false);
 
         for (int i = 0; i < 7; i++) {
-            LocalDate currentDate = weekStartDate.plusDays(i);
-            grid.add(createDayColumn(currentDate));
+            columns[i] = new DayColumn();
+            grid.add(columns[i]);
         }
         
         add(grid, BorderLayout.CENTER);
-        revalidate();
-        repaint();
     }
 
-    private JPanel createDayColumn(LocalDate date) {
-        JPanel column = new JPanel(new BorderLayout());
-        column.setOpaque(true);
-        column.setBackground(new Color(28, 28, 30));
-        column.setBorder(BorderFactory.createLineBorder(new Color(44, 44, 46)));
+    /**
+     * Show the week containing the given date, reusing the existing columns.
+     */
+    public void showWeek(LocalDate referenceDate) {
+        weekStartDate = referenceDate.minusDays(referenceDate.getDayOfWeek().getValue() - 1);
+        refreshUI();
+    }
 
-        JPanel header = new JPanel(new GridLayout(2, 1));
-        header.setOpaque(false);
-        header.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
-        
-        JLabel dayName = new JLabel(date.getDayOfWeek().name().substring(0, 3));
-        dayName.setForeground(Color.GRAY);
-        dayName.setHorizontalAlignment(SwingConstants.CENTER);
-        
-        JLabel dayNum = new JLabel(String.valueOf(date.getDayOfMonth()));
-        dayNum.setForeground(Color.WHITE);
-        dayNum.setFont(new Font("SansSerif", Font.BOLD, 18));
-        dayNum.setHorizontalAlignment(SwingConstants.CENTER);
+    /**
+     * Reload the title and all seven columns for the current week.
+     */
+    public void refreshUI() {
+        LocalDate weekEndDate = weekStartDate.plusDays(6);
+        titleLabel.setText(weekStartDate.format(DateTimeFormatter.ofPattern("MMM dd")) + 
+                           " - " + weekEndDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")));
 
-        if (date.equals(LocalDate.now())) {
-            dayNum.setForeground(new Color(255, 59, 48));
+        for (int i = 0; i < 7; i++) {
+            columns[i].setDate(weekStartDate.plusDays(i));
         }
+    }
 
-        header.add(dayName);
-        header.add(dayNum);
-        column.add(header, BorderLayout.NORTH);
-
-        DefaultListModel<String> listModel = new DefaultListModel<>();
-        List<calenderApplication.businessLogic.Event> events = manager.getEventsForDate(date);
-        
-        if (events != null) {
-            for (calenderApplication.businessLogic.Event ev : events) {
-                listModel.addElement(ev.getStartDateTimeAsLdt().toLocalTime() + " " + ev.getTitle());
-            }
+    /**
+     * Reload only the columns of this week whose day the change touched.
+     */
+    public void eventsChanged(EventChange change) {
+        for (LocalDate date : change.affectedDays(weekStartDate, weekStartDate.plusDays(6))) {
+            columns[(int) (date.toEpochDay() - weekStartDate.toEpochDay())].setDate(date);
         }
+    }
 
-        JList<String> eventList = new JList<>(listModel);
-        eventList.setBackground(new Color(38, 38, 40));
-        eventList.setForeground(new Color(200, 200, 200));
-        eventList.setFont(new Font("SansSerif", Font.PLAIN, 11));
-
-        eventList.addMouseListener(new java.awt.event.MouseAdapter() {
-            public void mouseClicked(java.awt.event.MouseEvent evt) {
-                EventListDialog listDialog = new EventListDialog(owner, date, manager, reminderManager);
-                listDialog.setVisible(true);
-                refreshUI();
-            }
-        });
+    /**
+     * One day of the week: header labels and the event list, updated in place.
+     */
+    private class DayColumn extends JPanel {
+        private final JLabel dayName = new JLabel();
+        private final JLabel dayNum = new JLabel();
+        private final DayEventListModel listModel = new DayEventListModel(manager, null);
+        private LocalDate date;
+
+        DayColumn() {
+            super(new BorderLayout());
+            setOpaque(true);
+            setBackground(new Color(28, 28, 30));
+            setBorder(BorderFactory.createLineBorder(new Color(44, 44, 46)));
+
+            JPanel header = new JPanel(new GridLayout(2, 1));
+            header.setOpaque(false);
+            header.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+            
+            dayName.setForeground(Color.GRAY);
+            dayName.setHorizontalAlignment(SwingConstants.CENTER);
+            
+            dayNum.setFont(new Font("SansSerif", Font.BOLD, 18));
+            dayNum.setHorizontalAlignment(SwingConstants.CENTER);
+
+            header.add(dayName);
+            header.add(dayNum);
+            add(header, BorderLayout.NORTH);
+
+            JList<Event> eventList = new JList<>(listModel);
+            eventList.setBackground(new Color(38, 38, 40));
+            eventList.setForeground(new Color(200, 200, 200));
+            eventList.setFont(new Font("SansSerif", Font.PLAIN, 11));
+            // fixed cell size: only the visible rows are read and formatted
+            eventList.setFixedCellHeight(18);
+            eventList.setFixedCellWidth(100);
+            eventList.setCellRenderer(new DefaultListCellRenderer() {
+                @Override
+                public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                    super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                    Event ev = (Event) value;
+                    setText(ev == null ? "" : ev.getStartDateTimeAsLdt().toLocalTime() + " " + ev.getTitle());
+                    return this;
+                }
+            });
+
+            eventList.addMouseListener(new java.awt.event.MouseAdapter() {
+                public void mouseClicked(java.awt.event.MouseEvent evt) {
+                    EventListDialog listDialog = new EventListDialog(owner, date, manager, reminderManager);
+                    listDialog.setVisible(true);
+                    // changes made in the dialog come back through eventsChanged
+                }
+            });
+
+            JScrollPane sp = new JScrollPane(eventList);
+            sp.setBorder(null);
+            add(sp, BorderLayout.CENTER);
+        }
 
-        JScrollPane sp = new JScrollPane(eventList);
-        sp.setBorder(null);
-        column.add(sp, BorderLayout.CENTER);
+        void setDate(LocalDate date) {
+            this.date = date;
+            dayName.setText(date.getDayOfWeek().name().substring(0, 3));
+            dayNum.setText(String.valueOf(date.getDayOfMonth()));
+            dayNum.setForeground(date.equals(LocalDate.now()) ? new Color(255, 59, 48) : Color.WHITE);
 
-        return column;
+            listModel.setDate(date);
+        }
     }
 
     private void styleNavButton(JButton btn) {
@@ -151,4 +193,4 @@ public class WeekPanel extends JPanel {
         weekStartDate = weekStartDate.minusWeeks(1);
         refreshUI();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package calenderApplication.businessLogic;
+
+/**
+ * Approximate analytics over the occurrences in one date window, built by StatisticManager in a
+ * single pass: duration percentiles from a DurationHistogram (within about 3%) and distinct
+ * location and attendee counts from HyperLogLog sketches (about 1.6%). Memory is fixed at a few
+ * kilobytes whatever the size of the window.
+ */
+public class AnalyticsSketch {
+    private final DurationHistogram durations = new DurationHistogram();
+    private final HyperLogLog locations = new HyperLogLog();
+    private final HyperLogLog attendees = new HyperLogLog();
+
+    AnalyticsSketch() {
+    }
+
+    /** Count one series: its duration once per occurrence, its location and attendees once. */
+    void add(Event base, long minutes, long occurrences) {
+        if (minutes > 0) durations.record(minutes, occurrences);
+        String location = normalize(base.getLocation());
+        if (location != null) locations.add(location);
+        for (String a : base.getAttendees()) {
+            String attendee = normalize(a);
+            if (attendee != null) attendees.add(attendee);
+        }
+    }
+
+    /** Approximate duration in minutes at the given percentile (0-100) of positive durations. */
+    public long getDurationPercentile(double percentile) {
+        return durations.getValueAtQuantile(percentile / 100.0);
+    }
+
+    public long getMedianDuration() {
+        return getDurationPercentile(50);
+    }
+
+    /** Number of occurrences with a positive duration. */
+    public long getDurationCount() {
+        return durations.getTotalCount();
+    }
+
+    public long estimateDistinctLocations() {
+        return locations.estimate();
+    }
+
+    public long estimateDistinctAttendees() {
+        return attendees.estimate();
+    }
+
+    // same matching rule as the location filter: trimmed, case-insensitive
+    private static String normalize(String s) {
+        if (s == null) return null;
+        String t = s.trim();
+        return t.isEmpty() ? null : t.toLowerCase();
+    }
+}
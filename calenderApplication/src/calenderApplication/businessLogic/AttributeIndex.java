@@ -0,0 +1,105 @@
+package calenderApplication.businessLogic;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary-encoded index for one string attribute of the base events (category, location).
+ *
+ * Each distinct case-insensitive value gets an int code, and each code has a bitmap of the event
+ * IDs that carry it. Event IDs are small and dense, so one bit per ID is compact, and a combined
+ * filter is just BitSet.and. The index keeps one key String per distinct value, so thousands of
+ * events in "Work" cost one dictionary entry; the events themselves are never modified. A code
+ * whose bitmap becomes empty is released and reused, so renamed or deleted values do not linger.
+ *
+ * Not thread-safe; EventManager updates and queries it under its lock.
+ */
+public class AttributeIndex {
+    private static final int NONE = -1;
+
+    private final Map<String, Integer> codeByKey = new HashMap<>();
+    private final List<BitSet> idsByCode = new ArrayList<>();
+    private final List<String> keyByCode = new ArrayList<>();
+    private final Deque<Integer> freeCodes = new ArrayDeque<>();
+    private int[] codeByEventId = new int[0];
+
+    public void clear() {
+        codeByKey.clear();
+        idsByCode.clear();
+        keyByCode.clear();
+        freeCodes.clear();
+        codeByEventId = new int[0];
+    }
+
+    /** Record (or change) the value of an event. */
+    public void put(int eventId, String value) {
+        if (eventId < 0) return; // generated IDs start at 1
+        int code = codeByKey.computeIfAbsent(keyOf(value), this::newCode);
+        int old = codeOf(eventId);
+        if (old == code) return;
+        idsByCode.get(code).set(eventId);
+        if (old != NONE) {
+            idsByCode.get(old).clear(eventId);
+            releaseIfUnused(old);
+        }
+        if (eventId >= codeByEventId.length) {
+            int oldLen = codeByEventId.length;
+            codeByEventId = Arrays.copyOf(codeByEventId, Math.max(eventId + 1, oldLen * 2));
+            Arrays.fill(codeByEventId, oldLen, codeByEventId.length, NONE);
+        }
+        codeByEventId[eventId] = code;
+    }
+
+    public void remove(int eventId) {
+        int old = codeOf(eventId);
+        if (old == NONE) return;
+        idsByCode.get(old).clear(eventId);
+        codeByEventId[eventId] = NONE;
+        releaseIfUnused(old);
+    }
+
+    /** Number of distinct values currently in use. */
+    public int valueCount() {
+        return codeByKey.size();
+    }
+
+    /** Copy of the IDs whose value equals the query, ignoring case and surrounding spaces of the query. */
+    public BitSet lookup(String query) {
+        Integer code = codeByKey.get(query == null ? "" : query.trim().toLowerCase());
+        return code == null ? new BitSet() : (BitSet) idsByCode.get(code).clone();
+    }
+
+    private int newCode(String key) {
+        Integer free = freeCodes.poll();
+        if (free != null) {
+            keyByCode.set(free, key);
+            return free;
+        }
+        idsByCode.add(new BitSet());
+        keyByCode.add(key);
+        return idsByCode.size() - 1;
+    }
+
+    // 没有事件再用这个值时，释放它的编码，供以后的新值复用
+    private void releaseIfUnused(int code) {
+        if (!idsByCode.get(code).isEmpty()) return;
+        codeByKey.remove(keyByCode.get(code));
+        keyByCode.set(code, null);
+        freeCodes.push(code);
+    }
+
+    private int codeOf(int eventId) {
+        return (eventId >= 0 && eventId < codeByEventId.length) ? codeByEventId[eventId] : NONE;
+    }
+
+    // stored values are compared as they are (only lowercased), matching the old filter
+    private static String keyOf(String value) {
+        return value == null ? "" : value.toLowerCase();
+    }
+}
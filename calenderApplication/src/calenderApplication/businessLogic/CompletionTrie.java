@@ -0,0 +1,204 @@
+package calenderApplication.businessLogic;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Compressed (radix) trie for type-ahead: keys are lowercase strings, each stored with a
+ * reference count (how many events carry it) and the spelling to show. Edges hold whole runs of
+ * characters, so a lookup touches one node per branching point rather than one per character.
+ *
+ * complete() returns keys that start with the prefix, and with maxEdits &gt; 0 also keys that
+ * start with something within that Levenshtein distance of the prefix. The fuzzy walk carries one
+ * DP row per trie character and drops every branch whose row minimum exceeds maxEdits, so it only
+ * visits the few paths that can still match.
+ *
+ * Not thread-safe; EventManager updates and queries it under its lock.
+ */
+public class CompletionTrie {
+
+    private static final class Node {
+        String edge;   // characters on the edge from the parent ("" for the root)
+        final Map<Character, Node> children = new TreeMap<>();
+        int count;     // 0 = no key ends here
+        String display;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+    }
+
+    private final Node root = new Node("");
+
+    public void clear() {
+        root.children.clear();
+        root.count = 0;
+        root.display = null;
+    }
+
+    /** Add one reference to the key; display is the spelling shown for it (the first one wins). */
+    public void add(String key, String display) {
+        if (key == null || key.isEmpty()) return;
+        Node node = root;
+        int i = 0;
+        while (true) {
+            if (i == key.length()) break;
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                node = child;
+                break;
+            }
+            int common = commonPrefix(child.edge, key, i);
+            if (common < child.edge.length()) {
+                // split the edge: node -> mid -> child
+                Node mid = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                mid.children.put(child.edge.charAt(0), child);
+                node.children.put(mid.edge.charAt(0), mid);
+                child = mid;
+            }
+            node = child;
+            i += common;
+        }
+        if (node.count++ == 0) node.display = display;
+    }
+
+    /** Drop one reference to the key; the key disappears once nothing refers to it. */
+    public void remove(String key) {
+        if (key == null || key.isEmpty()) return;
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int i = 0;
+        path.add(node);
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) return;
+            i += child.edge.length();
+            node = child;
+            path.add(node);
+        }
+        if (node.count == 0 || --node.count > 0) return;
+        node.display = null;
+
+        // prune the empty leaf, then re-compress the nodes that no longer branch
+        for (int p = path.size() - 1; p > 0; p--) {
+            Node n = path.get(p);
+            Node parent = path.get(p - 1);
+            if (n.count == 0 && n.children.isEmpty()) {
+                parent.children.remove(n.edge.charAt(0));
+            } else if (n.count == 0 && n.children.size() == 1) {
+                Node only = n.children.values().iterator().next();
+                only.edge = n.edge + only.edge;
+                parent.children.put(only.edge.charAt(0), only);
+                break;
+            } else {
+                break;
+            }
+        }
+    }
+
+    /** Up to limit completions of the prefix: exact prefix matches first, then the fuzzy ones. */
+    public List<String> complete(String prefix, int maxEdits, int limit) {
+        Set<String> out = new LinkedHashSet<>();
+        if (limit <= 0 || prefix == null) return new ArrayList<>(out);
+        String q = prefix.toLowerCase();
+
+        Node node = root;
+        int i = 0;
+        while (node != null && i < q.length()) {
+            Node child = node.children.get(q.charAt(i));
+            if (child == null) {
+                node = null;
+                break;
+            }
+            int common = commonPrefix(child.edge, q, i);
+            if (common < child.edge.length() && i + common < q.length()) {
+                node = null; // diverges inside the edge
+                break;
+            }
+            i += common;
+            node = child;
+        }
+        if (node != null) collect(node, out, limit);
+
+        if (maxEdits > 0 && out.size() < limit) {
+            int[] row = new int[q.length() + 1];
+            for (int j = 0; j < row.length; j++) row[j] = j;
+            fuzzy(root, q, row, maxEdits, out, limit);
+        }
+        return new ArrayList<>(out);
+    }
+
+    // nodes below the root, to check that removal re-compresses the trie (for the tests)
+    int nodeCount() {
+        return countNodes(root) - 1;
+    }
+
+    // --- helpers ---
+
+    private static int countNodes(Node node) {
+        int n = 1;
+        for (Node child : node.children.values()) n += countNodes(child);
+        return n;
+    }
+
+    private static void collect(Node node, Set<String> out, int limit) {
+        if (out.size() >= limit) return;
+        if (node.count > 0) out.add(node.display);
+        for (Node child : node.children.values()) {
+            if (out.size() >= limit) return;
+            collect(child, out, limit);
+        }
+    }
+
+    // row = edit distances between the prefixes of q and the path down to (and including) node
+    private static void fuzzy(Node node, String q, int[] row, int maxEdits, Set<String> out, int limit) {
+        for (Node child : node.children.values()) {
+            if (out.size() >= limit) return;
+            int[] r = row;
+            boolean matched = false;
+            boolean dead = false;
+            for (int c = 0; c < child.edge.length(); c++) {
+                r = step(r, q, child.edge.charAt(c));
+                if (r[q.length()] <= maxEdits) {
+                    matched = true; // some prefix of this path is close enough to q
+                    break;
+                }
+                if (min(r) > maxEdits) {
+                    dead = true;
+                    break;
+                }
+            }
+            if (matched) collect(child, out, limit);
+            else if (!dead) fuzzy(child, q, r, maxEdits, out, limit);
+        }
+    }
+
+    private static int[] step(int[] row, String q, char c) {
+        int[] next = new int[row.length];
+        next[0] = row[0] + 1;
+        for (int j = 1; j < row.length; j++) {
+            int sub = row[j - 1] + (q.charAt(j - 1) == c ? 0 : 1);
+            next[j] = Math.min(sub, Math.min(row[j] + 1, next[j - 1] + 1));
+        }
+        return next;
+    }
+
+    private static int min(int[] row) {
+        int m = Integer.MAX_VALUE;
+        for (int v : row) m = Math.min(m, v);
+        return m;
+    }
+
+    private static int commonPrefix(String edge, String key, int from) {
+        int n = 0;
+        while (n < edge.length() && from + n < key.length() && edge.charAt(n) == key.charAt(from + n)) n++;
+        return n;
+    }
+}
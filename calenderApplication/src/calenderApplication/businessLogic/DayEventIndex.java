@@ -0,0 +1,132 @@
+package calenderApplication.businessLogic;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Index from a calendar day to the occurrences that start on it (base events and generated
+ * recurrences). Buckets hold OccurrenceRefs sorted by start time, so a day lookup is one
+ * O(log n) TreeMap search (n = days with occurrences) and the result is already ordered.
+ *
+ * Days are kept in a TreeMap, so the buckets read in day order form a start-time index over all
+ * occurrences: a range scan seeks to its first day and walks forward, touching only what it returns.
+ *
+ * A series is described arithmetically (base start, interval, last index), which is all that is
+ * needed to find its buckets again when it is removed.
+ */
+public class DayEventIndex {
+
+    private static class Span {
+        final LocalDateTime start;
+        final int intervalDays;
+        final int lastIndex;
+
+        Span(LocalDateTime start, int intervalDays, int lastIndex) {
+            this.start = start;
+            this.intervalDays = intervalDays;
+            this.lastIndex = lastIndex;
+        }
+    }
+
+    private final NavigableMap<LocalDate, List<OccurrenceRef>> refsByDay = new TreeMap<>();
+    private final Map<Integer, Span> spansBySeries = new HashMap<>();
+
+    public void clear() {
+        refsByDay.clear();
+        spansBySeries.clear();
+    }
+
+    /** Index all occurrences of one series (replacing whatever was indexed for that ID before). */
+    public void addSeries(int eventId, LocalDateTime baseStart, int intervalDays, int lastIndex) {
+        removeSeries(eventId);
+        if (baseStart == null) return;
+        Span span = new Span(baseStart, intervalDays, intervalDays > 0 ? lastIndex : 0);
+        for (int k = 0; k <= span.lastIndex; k++) {
+            LocalDateTime start = baseStart.plusDays((long) k * intervalDays);
+            List<OccurrenceRef> bucket = refsByDay.computeIfAbsent(start.toLocalDate(), d -> new ArrayList<>());
+            OccurrenceRef ref = new OccurrenceRef(eventId, k, start);
+            int pos = Collections.binarySearch(bucket, ref);
+            bucket.add(pos < 0 ? -pos - 1 : pos, ref);
+        }
+        spansBySeries.put(eventId, span);
+    }
+
+    public void removeSeries(int eventId) {
+        Span span = spansBySeries.remove(eventId);
+        if (span == null) return;
+        for (int k = 0; k <= span.lastIndex; k++) {
+            LocalDate day = span.start.plusDays((long) k * span.intervalDays).toLocalDate();
+            List<OccurrenceRef> bucket = refsByDay.get(day);
+            if (bucket == null) continue;
+            bucket.removeIf(r -> r.getEventId() == eventId);
+            if (bucket.isEmpty()) refsByDay.remove(day);
+        }
+    }
+
+    // 把该系列当前索引的日期（addSeries 时记下的值）加到变更通知里
+    void describeSeries(int eventId, EventChange change) {
+        Span span = spansBySeries.get(eventId);
+        if (span != null) change.addSeries(span.start.toLocalDate(), span.intervalDays, span.lastIndex);
+    }
+
+    /** Occurrences starting on the given day, ordered by start time. Never null. */
+    public List<OccurrenceRef> getRefsForDate(LocalDate date) {
+        List<OccurrenceRef> bucket = refsByDay.get(date);
+        return bucket == null ? Collections.emptyList() : Collections.unmodifiableList(bucket);
+    }
+
+    /**
+     * Number of occurrences starting on each day of [from, to] (inclusive), indexed by days
+     * since from. Only the days that have occurrences are visited.
+     */
+    public int[] countPerDay(LocalDate from, LocalDate to) {
+        int[] counts = new int[(int) Math.max(0, to.toEpochDay() - from.toEpochDay() + 1)];
+        if (counts.length == 0) return counts;
+        long first = from.toEpochDay();
+        for (Map.Entry<LocalDate, List<OccurrenceRef>> day : refsByDay.subMap(from, true, to, true).entrySet()) {
+            counts[(int) (day.getKey().toEpochDay() - first)] = day.getValue().size();
+        }
+        return counts;
+    }
+
+    /**
+     * Visit, in (start, event ID, index) order, the occurrences starting in [from, to) that sort
+     * after the given ref (null = from the beginning), until the visitor returns false.
+     * Null bounds mean unbounded.
+     */
+    public void scan(LocalDateTime from, OccurrenceRef after, LocalDateTime to, Predicate<OccurrenceRef> visitor) {
+        NavigableMap<LocalDate, List<OccurrenceRef>> days = refsByDay;
+        LocalDate firstDay = (from == null) ? null : from.toLocalDate();
+        if (after != null) {
+            LocalDate afterDay = after.getStart().toLocalDate();
+            if (firstDay == null || afterDay.isAfter(firstDay)) firstDay = afterDay;
+        }
+        if (firstDay != null) days = days.tailMap(firstDay, true);
+        if (to != null) days = days.headMap(to.toLocalDate(), true);
+
+        long fromSecond = (from == null) ? Long.MIN_VALUE : from.toEpochSecond(ZoneOffset.UTC);
+        long toSecond = (to == null) ? Long.MAX_VALUE : to.toEpochSecond(ZoneOffset.UTC);
+        for (List<OccurrenceRef> bucket : days.values()) {
+            int i = 0;
+            if (after != null) {
+                int pos = Collections.binarySearch(bucket, after);
+                i = pos < 0 ? -pos - 1 : pos + 1;
+            }
+            for (; i < bucket.size(); i++) {
+                OccurrenceRef ref = bucket.get(i);
+                if (ref.getStartSecond() < fromSecond) continue;
+                if (ref.getStartSecond() >= toSecond) return;
+                if (!visitor.test(ref)) return;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package calenderApplication.businessLogic;
+
+/**
+ * Fixed-size log-linear histogram of durations in minutes (HDR-histogram style).
+ *
+ * Values below 32 get one bucket each; above that every power of two is split into 32 equal
+ * buckets, so any recorded value is known to within about 3% while the whole range of a long
+ * fits in under 2,000 counters. Memory does not depend on how many values are recorded, and
+ * record() takes a count so a recurring series can be added in one call.
+ */
+public class DurationHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total = 0;
+
+    /** Record count values of the given number of minutes; negative values are ignored. */
+    public void record(long minutes, long count) {
+        if (minutes < 0 || count <= 0) return;
+        counts[bucketOf(minutes)] += count;
+        total += count;
+    }
+
+    public long getTotalCount() {
+        return total;
+    }
+
+    /** Approximate q-quantile (0..1) of the recorded values; 0 when nothing was recorded. */
+    public long getValueAtQuantile(double q) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(Math.min(1.0, Math.max(0.0, q)) * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return representative(i);
+        }
+        return representative(BUCKETS - 1);
+    }
+
+    public void merge(DurationHistogram o) {
+        for (int i = 0; i < BUCKETS; i++) counts[i] += o.counts[i];
+        total += o.total;
+    }
+
+    private static int bucketOf(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        int shift = exp - SUB_BUCKET_BITS;
+        int mantissa = (int) (v >>> shift); // in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        return (shift + 1) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+    }
+
+    // middle of the bucket's value range
+    private static long representative(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long mantissa = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        long low = mantissa << shift;
+        long high = ((mantissa + 1) << shift) - 1;
+        return low + (high - low) / 2;
+    }
+}
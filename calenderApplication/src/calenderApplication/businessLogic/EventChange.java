@@ -0,0 +1,92 @@
+package calenderApplication.businessLogic;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Notification that an event was created, updated or deleted, with the days whose occurrences
+ * may have changed: the days the series occupied before the change and the days it occupies
+ * after. Each side is kept as (first day, interval, last index), so affects() is exact for
+ * recurring events too and views can redraw just those day cells.
+ */
+public class EventChange {
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private static final class DaySpan {
+        final long firstDay;
+        final int intervalDays;
+        final int lastIndex;
+
+        DaySpan(long firstDay, int intervalDays, int lastIndex) {
+            this.firstDay = firstDay;
+            this.intervalDays = intervalDays;
+            this.lastIndex = intervalDays > 0 ? lastIndex : 0;
+        }
+
+        long lastDay() {
+            return firstDay + (long) lastIndex * intervalDays;
+        }
+
+        boolean contains(long day) {
+            if (day < firstDay || day > lastDay()) return false;
+            return intervalDays == 0 ? day == firstDay : (day - firstDay) % intervalDays == 0;
+        }
+    }
+
+    private final int eventId;
+    private final Type type;
+    private final List<DaySpan> spans = new ArrayList<>(2);
+
+    EventChange(int eventId, Type type) {
+        this.eventId = eventId;
+        this.type = type;
+    }
+
+    // 记录一个系列占用的日期（变更前或变更后）
+    EventChange addSeries(LocalDate firstDay, int intervalDays, int lastIndex) {
+        if (firstDay != null) spans.add(new DaySpan(firstDay.toEpochDay(), intervalDays, lastIndex));
+        return this;
+    }
+
+    public int getEventId() { return eventId; }
+
+    public Type getType() { return type; }
+
+    /** First affected day, or null when no day is affected. */
+    public LocalDate getFrom() {
+        if (spans.isEmpty()) return null;
+        long d = Long.MAX_VALUE;
+        for (DaySpan s : spans) d = Math.min(d, s.firstDay);
+        return LocalDate.ofEpochDay(d);
+    }
+
+    /** Last affected day, or null when no day is affected. */
+    public LocalDate getTo() {
+        if (spans.isEmpty()) return null;
+        long d = Long.MIN_VALUE;
+        for (DaySpan s : spans) d = Math.max(d, s.lastDay());
+        return LocalDate.ofEpochDay(d);
+    }
+
+    /** Whether an occurrence of the event started, or now starts, on this day. */
+    public boolean affects(LocalDate day) {
+        long d = day.toEpochDay();
+        for (DaySpan s : spans) {
+            if (s.contains(d)) return true;
+        }
+        return false;
+    }
+
+    /** The affected days inside [from, to] (inclusive), in order. */
+    public List<LocalDate> affectedDays(LocalDate from, LocalDate to) {
+        LocalDate first = getFrom();
+        if (first == null || first.isAfter(to) || getTo().isBefore(from)) return Collections.emptyList();
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            if (affects(d)) days.add(d);
+        }
+        return days;
+    }
+}
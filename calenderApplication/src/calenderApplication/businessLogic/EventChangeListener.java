@@ -0,0 +1,9 @@
+package calenderApplication.businessLogic;
+
+/**
+ * Receives EventManager's change notifications. Called on the thread that made the change,
+ * after the change is visible to readers; a Swing listener should hop to the EDT if needed.
+ */
+public interface EventChangeListener {
+    void eventsChanged(EventChange change);
+}
@@ -0,0 +1,161 @@
+package calenderApplication.businessLogic;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Augmented interval tree (AVL balanced) over base events, keyed on start time + event ID.
+ * Every node also keeps the max end time of its subtree, so an overlap query only walks
+ * branches that can still contain a hit: O(log n + k).
+ *
+ * Start/end are copied into the node on insert, so a caller mutating the Event afterwards
+ * cannot corrupt the ordering; EventManager re-inserts on update.
+ */
+public class EventIntervalTree {
+
+    private static class Node {
+        final LocalDateTime start;
+        final LocalDateTime end;
+        final int eventId;
+        final Event event;
+        LocalDateTime maxEnd;
+        int height = 1;
+        Node left, right;
+
+        Node(Event event) {
+            this.event = event;
+            this.eventId = event.getEventId();
+            this.start = event.getStartDateTimeAsLdt();
+            this.end = event.getEndDateTimeAsLdt();
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    // eventId -> start time used as key, needed to locate the node on remove
+    private final Map<Integer, LocalDateTime> startById = new HashMap<>();
+
+    public int size() { return startById.size(); }
+
+    public void clear() {
+        root = null;
+        startById.clear();
+    }
+
+    /** Insert (or replace) an event. Events without a valid time range are ignored. */
+    public void insert(Event e) {
+        if (e == null || e.getStartDateTimeAsLdt() == null || e.getEndDateTimeAsLdt() == null) return;
+        remove(e.getEventId());
+        Node n = new Node(e);
+        root = insert(root, n);
+        startById.put(n.eventId, n.start);
+    }
+
+    public void remove(int eventId) {
+        LocalDateTime start = startById.remove(eventId);
+        if (start != null) {
+            root = remove(root, start, eventId);
+        }
+    }
+
+    /** Collect every event with start < end && other.start < other.end, i.e. half-open overlap. */
+    public void findOverlapping(LocalDateTime start, LocalDateTime end, List<Event> out) {
+        if (start == null || end == null) return;
+        findOverlapping(root, start, end, out);
+    }
+
+    // --- query ---
+
+    private void findOverlapping(Node n, LocalDateTime start, LocalDateTime end, List<Event> out) {
+        // nothing in this subtree ends after the query starts
+        if (n == null || !n.maxEnd.isAfter(start)) return;
+        findOverlapping(n.left, start, end, out);
+        // every node to the right starts at or after n.start, so stop once n.start >= end
+        if (!n.start.isBefore(end)) return;
+        if (n.end.isAfter(start)) out.add(n.event);
+        findOverlapping(n.right, start, end, out);
+    }
+
+    // --- AVL maintenance ---
+
+    private static int compare(LocalDateTime start, int id, Node n) {
+        int c = start.compareTo(n.start);
+        return c != 0 ? c : Integer.compare(id, n.eventId);
+    }
+
+    private Node insert(Node n, Node add) {
+        if (n == null) return add;
+        if (compare(add.start, add.eventId, n) < 0) n.left = insert(n.left, add);
+        else n.right = insert(n.right, add);
+        return rebalance(n);
+    }
+
+    private Node remove(Node n, LocalDateTime start, int id) {
+        if (n == null) return null;
+        int c = compare(start, id, n);
+        if (c < 0) {
+            n.left = remove(n.left, start, id);
+        } else if (c > 0) {
+            n.right = remove(n.right, start, id);
+        } else {
+            if (n.left == null) return n.right;
+            if (n.right == null) return n.left;
+            Node min = n.right;
+            while (min.left != null) min = min.left;
+            min.right = removeMin(n.right);
+            min.left = n.left;
+            return rebalance(min);
+        }
+        return rebalance(n);
+    }
+
+    private Node removeMin(Node n) {
+        if (n.left == null) return n.right;
+        n.left = removeMin(n.left);
+        return rebalance(n);
+    }
+
+    private static int height(Node n) { return n == null ? 0 : n.height; }
+
+    private static void update(Node n) {
+        n.height = 1 + Math.max(height(n.left), height(n.right));
+        LocalDateTime m = n.end;
+        if (n.left != null && n.left.maxEnd.isAfter(m)) m = n.left.maxEnd;
+        if (n.right != null && n.right.maxEnd.isAfter(m)) m = n.right.maxEnd;
+        n.maxEnd = m;
+    }
+
+    private Node rebalance(Node n) {
+        update(n);
+        int balance = height(n.left) - height(n.right);
+        if (balance > 1) {
+            if (height(n.left.left) < height(n.left.right)) n.left = rotateLeft(n.left);
+            return rotateRight(n);
+        }
+        if (balance < -1) {
+            if (height(n.right.right) < height(n.right.left)) n.right = rotateRight(n.right);
+            return rotateLeft(n);
+        }
+        return n;
+    }
+
+    private Node rotateRight(Node n) {
+        Node l = n.left;
+        n.left = l.right;
+        l.right = n;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    private Node rotateLeft(Node n) {
+        Node r = n.right;
+        n.right = r.left;
+        r.left = n;
+        update(n);
+        update(r);
+        return r;
+    }
+}
@@ -1,118 +1,438 @@
 package calenderApplication.businessLogic;
 
+import calenderApplication.dataLayer.BinarySnapshot;
 import calenderApplication.dataLayer.EventIdGenerator;
 import calenderApplication.dataLayer.FileIOManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
 
+/**
+ * In-memory view of all events, recurrence rules and their indexes.
+ *
+ * Concurrency model: the EDT mutates while the reminder scheduler (and any other thread) reads.
+ * All in-memory state is guarded by one StampedLock.
+ * - Writers are serialized by writeMutex for the whole operation, including file I/O, and take
+ *   the write stamp only for the few map/index updates at the end. Readers therefore never wait
+ *   for disk, only for an in-memory update.
+ * - Point lookups in hash maps (getBaseEvent, getRecurrentRule) are optimistic reads: they run
+ *   without locking and are retried under the read lock if a write overlapped.
+ * - Scans take the read lock, including the day lookups (getEventsForDate and friends), which
+ *   walk the day TreeMap and a bucket of unbounded size.
+ * - forEachOccurrence copies the series list under the lock and runs
+ *   the caller's action outside it, so the action may call back into this class.
+ * - Returned collections are copies; Event objects are shared and must be treated as read-only.
+ * - Change listeners are called after a write has finished, outside both locks.
+ */
 public class EventManager {
+    private static final long SECONDS_PER_DAY = 24L * 60 * 60;
+    // 重复生成的副本标题后缀
+    static final String CLONE_MARKER = " (R)";
+
     private final FileIOManager ioManager;
     private ReminderManager reminderManager;
     
     // 内存缓存：Key 为 EventID
     private final Map<Integer, Event> eventCache = new HashMap<>();
     private final Map<Integer, RecurrentEvent> recurrentRulesByEventId = new HashMap<>();
+    // 冲突检查索引：按开始时间排序的区间树
+    private final EventIntervalTree conflictIndex = new EventIntervalTree();
+    // 按日期分桶的事件索引（包含重复生成的事件）
+    private final DayEventIndex dayIndex = new DayEventIndex();
+    // 文本索引：标题倒排索引（n-gram）和输入提示用的前缀树；第一次搜索时才建立，不拖慢启动
+    private final TitleIndex titleIndex = new TitleIndex();
+    private final CompletionTrie titleWords = new CompletionTrie();
+    private final CompletionTrie locationNames = new CompletionTrie();
+    // 建索引时用的标题 / 地点（Event 对象是共享的，可能被原地修改，删除时不能再读它）
+    private final Map<Integer, String> indexedTitles = new HashMap<>();
+    private final Map<Integer, String> indexedLocations = new HashMap<>();
+    private boolean textIndexesBuilt = false;
+    // 类别 / 地点字典编码索引（位图）
+    private final AttributeIndex categoryIndex = new AttributeIndex();
+    private final AttributeIndex locationIndex = new AttributeIndex();
+    // 增量维护的统计数据（按星期 / 类别 / 月份 / 时长）
+    private final EventStatistics statistics = new EventStatistics();
+    // 各系列的时长（秒）及其多重集合，删除 / 修改后最长时长也会变小；找空闲时间时用来确定往前回看多远
+    private final Map<Integer, Long> durationById = new HashMap<>();
+    private final TreeMap<Long, Integer> durationCounts = new TreeMap<>();
+    private long longestDurationSeconds = 0;
+
+    // 读写锁：写操作只在更新内存时持有写锁
+    private final StampedLock lock = new StampedLock();
+    private final Object writeMutex = new Object();
+    // 变更监听器（视图等），写操作完成后通知
+    private final List<EventChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
     public EventManager(FileIOManager ioManager) {
+        // 优先读取二进制快照，CSV 只作为回退/迁移路径
+        this(ioManager, ioManager.loadSnapshot());
+    }
+
+    /** Build from a snapshot the caller already loaded, so it can be shared with ReminderManager. */
+    public EventManager(FileIOManager ioManager, BinarySnapshot snapshot) {
         this.ioManager = ioManager;
-        loadDataIntoMemory();
+        loadDataIntoMemory(snapshot);
     }
     
-    private void loadDataIntoMemory() {
+    private void loadDataIntoMemory(BinarySnapshot snapshot) {
+
         eventCache.clear();
-        ioManager.readAllEventsFromCsv().forEach(e -> eventCache.put(e.getEventId(), e));
+        conflictIndex.clear();
+        titleIndex.clear();
+        titleWords.clear();
+        locationNames.clear();
+        indexedTitles.clear();
+        indexedLocations.clear();
+        textIndexesBuilt = false;
+        categoryIndex.clear();
+        locationIndex.clear();
+        snapshot.getEvents().forEach(e -> {
+            eventCache.put(e.getEventId(), e);
+            conflictIndex.insert(e);
+            indexAttributes(e);
+        });
 
         recurrentRulesByEventId.clear();
-        ioManager.readAllRecurrentEventsFromCsv().forEach(r -> {
+        snapshot.getRules().forEach(r -> {
             recurrentRulesByEventId.put(r.getEventId(), r);
         });
+
+        dayIndex.clear();
+        statistics.clear();
+        durationById.clear();
+        durationCounts.clear();
+        longestDurationSeconds = 0;
+        eventCache.values().forEach(this::indexSeries);
     }
 
 public boolean createEvent(Event event, RecurrentEvent recurrentEvent) {
         if (!isEventValidForCreate(event)) return false;
 
-        // 冲突检查（基于内存）
-        if (!checkEventConflict(event).isEmpty()) return false;
+        EventChange change;
+        synchronized (writeMutex) {
+            // 冲突检查（基于内存）
+            if (!checkEventConflict(event).isEmpty()) return false;
 
-        // 分配 ID 并写入文件
-        int newId = EventIdGenerator.generateNextEventId();
-        event.setEventId(newId);
-        ioManager.writeEventToCsv(event);
-        
-        // 更新内存缓存
-        eventCache.put(newId, event);
+            // 分配 ID 并写入文件
+            int newId = EventIdGenerator.generateNextEventId();
+            event.setEventId(newId);
+            ioManager.writeEventToCsv(event);
+            boolean recurring = recurrentEvent != null && recurrentEvent.isEnabled();
+            if (recurring) {
+                recurrentEvent.setEventId(newId);
+                ioManager.writeRecurrentEventToCsv(recurrentEvent);
+            }
 
-        if (recurrentEvent != null && recurrentEvent.isEnabled()) {
-            recurrentEvent.setEventId(newId);
-            ioManager.writeRecurrentEventToCsv(recurrentEvent);
-            recurrentRulesByEventId.put(newId, recurrentEvent);
+            // 更新内存缓存
+            long stamp = lock.writeLock();
+            try {
+                eventCache.put(newId, event);
+                conflictIndex.insert(event);
+                indexText(event);
+                indexAttributes(event);
+                if (recurring) recurrentRulesByEventId.put(newId, recurrentEvent);
+                indexSeries(event);
+                change = new EventChange(newId, EventChange.Type.CREATED);
+                dayIndex.describeSeries(newId, change);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
         }
+        fireChange(change);
         return true;
     }
 
 public boolean updateEvent(Event event, RecurrentEvent recurrent) {
         if (!isEventValidForCreate(event)) return false;
 
-        if (ioManager.updateEventInCsv(event)) {
-            eventCache.put(event.getEventId(), event); // 刷新内存
-            
+        EventChange change;
+        synchronized (writeMutex) {
+            if (!ioManager.updateEventInCsv(event)) return false;
             if (recurrent != null) {
                 recurrent.setEventId(event.getEventId());
                 ioManager.updateRecurrentEventInCsv(recurrent);
-                recurrentRulesByEventId.put(event.getEventId(), recurrent);
             }
-            return true;
+
+            long stamp = lock.writeLock();
+            try {
+                // 变更前的日期取自日期索引，而不是缓存里的 Event（它可能已被调用方原地修改）
+                change = new EventChange(event.getEventId(), EventChange.Type.UPDATED);
+                dayIndex.describeSeries(event.getEventId(), change);
+                eventCache.put(event.getEventId(), event); // 刷新内存
+                conflictIndex.insert(event);
+                indexText(event);
+                indexAttributes(event);
+                if (recurrent != null) recurrentRulesByEventId.put(event.getEventId(), recurrent);
+                indexSeries(event);
+                dayIndex.describeSeries(event.getEventId(), change);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        fireChange(change);
+
+        if (this.reminderManager != null) {
+            this.reminderManager.onEventUpdated(event.getEventId());
         }
-        return false;
+        return true;
     }
 
 public boolean deleteEvent(int eventId) {
-        boolean deleted = ioManager.deleteEventFromCsv(eventId);
-        if (deleted) {
-            // 同步清理内存
-            eventCache.remove(eventId);
-            recurrentRulesByEventId.remove(eventId);
+        EventChange change;
+        synchronized (writeMutex) {
+            if (!ioManager.deleteEventFromCsv(eventId)) return false;
             ioManager.deleteRecurrentEventFromCsv(eventId);
-            
-            if (this.reminderManager != null) {
-                this.reminderManager.deleteReminder(eventId);
+
+            // 同步清理内存
+            long stamp = lock.writeLock();
+            try {
+                change = new EventChange(eventId, EventChange.Type.DELETED);
+                dayIndex.describeSeries(eventId, change);
+                eventCache.remove(eventId);
+                conflictIndex.remove(eventId);
+                dayIndex.removeSeries(eventId);
+                unindexText(eventId);
+                categoryIndex.remove(eventId);
+                locationIndex.remove(eventId);
+                statistics.removeSeries(eventId);
+                untrackDuration(eventId);
+                recurrentRulesByEventId.remove(eventId);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        fireChange(change);
+
+        if (this.reminderManager != null) {
+            this.reminderManager.deleteReminder(eventId);
+        }
+        return true;
+    }
+
+    /** Register a listener for create / update / delete notifications. */
+    public void addChangeListener(EventChangeListener listener) {
+        if (listener != null) changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(EventChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    // 通知监听器；一个监听器出错不影响其他监听器
+    private void fireChange(EventChange change) {
+        for (EventChangeListener l : changeListeners) {
+            try {
+                l.eventsChanged(change);
+            } catch (RuntimeException e) {
+                System.err.println("Change listener failed for event " + change.getEventId() + ": " + e);
             }
-            return true;
         }
-        return false;
     }
 
     public List<Event> getEventsForDate(LocalDate date) {
-        return getAllEventsExpanded().stream()
-            .filter(e -> e.getStartDateTimeAsLdt() != null && 
-                         e.getStartDateTimeAsLdt().toLocalDate().equals(date))
-            .collect(Collectors.toList());
+        return getEventsForDate(date, 0, Integer.MAX_VALUE);
     }
-    
-    public List<Event> getAllEventsExpanded() {
-        List<Event> expanded = new ArrayList<>(eventCache.values());
-        for (Event base : eventCache.values()) {
-            RecurrentEvent rule = recurrentRulesByEventId.get(base.getEventId());
-            if (rule != null && rule.isEnabled()) {
-                expanded.addAll(generateRecurrentEvents(base, rule));
+
+    /** Number of occurrences starting on the day, without building any of them. */
+    public int getEventCountForDate(LocalDate date) {
+        long stamp = lock.readLock();
+        try {
+            return dayIndex.getRefsForDate(date).size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Occurrences [offset, offset + limit) of the day, in the same order as getEventsForDate.
+     * Only the requested slice is built, so a list view can page through a very full day.
+     */
+    public List<Event> getEventsForDate(LocalDate date, int offset, int limit) {
+        long stamp = lock.readLock();
+        try {
+            List<OccurrenceRef> refs = dayIndex.getRefsForDate(date);
+            int from = Math.min(Math.max(0, offset), refs.size());
+            int to = (int) Math.min(refs.size(), (long) from + Math.max(0, limit));
+            List<Event> res = new ArrayList<>(to - from);
+            for (OccurrenceRef ref : refs.subList(from, to)) {
+                Event base = eventCache.get(ref.getEventId());
+                if (base != null) res.add(occurrenceAt(base, ref.getIndex()));
             }
+            return res;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Per-day occurrence counts for [from, to] (inclusive), index 0 = from, in one pass over the
+     * day index. Lets a view decide which days to mark without expanding any events.
+     */
+    public int[] getOccupancy(LocalDate from, LocalDate to) {
+        if (from == null || to == null) return new int[0];
+        long stamp = lock.readLock();
+        try {
+            return dayIndex.countPerDay(from, to);
+        } finally {
+            lock.unlockRead(stamp);
         }
-        return expanded;
     }
 
-    // --- recurrent generation (end <= endDate) ---
-private List<Event> generateRecurrentEvents(Event base, RecurrentEvent rule) {
-        List<Event> results = new ArrayList<>();
-        int days = parseIntervalToDays(rule.getRecurrentInterval());
-        if (days <= 0) return results;
+    /**
+     * Occurrences whose start lies in [from, to), computed arithmetically per series so only
+     * the occurrences inside the window are ever built. A null bound means "unbounded".
+     */
+    public List<Event> getOccurrences(LocalDateTime from, LocalDateTime to) {
+        List<Event> res = new ArrayList<>();
+        forEachOccurrence(from, to, res::add);
+        return res;
+    }
 
-        // 从 1 开始，因为 0 是基础事件本身
-        for (int i = 1; i < rule.getRecurrentTimes(); i++) {
-            results.add(cloneWithShift(base, i * days));
+    /**
+     * Streaming form of getOccurrences: nothing is collected, each occurrence is handed to the action.
+     * The series are captured under the read lock; the action runs outside it.
+     */
+    public void forEachOccurrence(LocalDateTime from, LocalDateTime to, Consumer<Event> action) {
+        List<Series> series;
+        long stamp = lock.readLock();
+        try {
+            series = new ArrayList<>(eventCache.size());
+            for (Event base : eventCache.values()) series.add(seriesOf(base));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        for (Series s : series) {
+            forEachOccurrenceOfSeries(s, from, to, action);
         }
-        return results;
+    }
+
+    /**
+     * One page of the occurrences starting in [from, to), ordered by start time (then event ID),
+     * read from the start-time index: only the skipped and returned occurrences are touched.
+     */
+    public List<Event> getOccurrencesPage(LocalDateTime from, LocalDateTime to, int offset, int limit) {
+        return readPage(from, to, null, new OccurrenceRef[1], offset, limit);
+    }
+
+    /** Cursor for paging through [from, to) in start-time order without re-skipping earlier pages. */
+    public OccurrenceCursor openCursor(LocalDateTime from, LocalDateTime to) {
+        return openCursor(from, to, null);
+    }
+
+    /** Same, restricted to the series whose event ID passes the filter (null = all). */
+    public OccurrenceCursor openCursor(LocalDateTime from, LocalDateTime to, IntPredicate seriesFilter) {
+        return new OccurrenceCursor(this, from, to, seriesFilter);
+    }
+
+    // position[0]: 从这个位置之后继续（null = 从头开始），返回时更新为最后返回的位置
+    List<Event> readPage(LocalDateTime from, LocalDateTime to, IntPredicate seriesFilter,
+                         OccurrenceRef[] position, int offset, int limit) {
+        List<Event> page = new ArrayList<>(Math.max(0, Math.min(limit, 256)));
+        if (limit <= 0) return page;
+        int[] toSkip = {Math.max(0, offset)};
+        long stamp = lock.readLock();
+        try {
+            dayIndex.scan(from, position[0], to, ref -> {
+                position[0] = ref;
+                if (seriesFilter != null && !seriesFilter.test(ref.getEventId())) return true;
+                Event base = eventCache.get(ref.getEventId());
+                if (base == null) return true;
+                if (toSkip[0] > 0) {
+                    toSkip[0]--;
+                    return true;
+                }
+                page.add(occurrenceAt(base, ref.getIndex()));
+                return page.size() < limit;
+            });
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return page;
+    }
+
+    /**
+     * Lazy, ordered occurrences of one series inside [from, to); null bounds mean "unbounded".
+     * The series is captured when the iterator is created, and each occurrence is built only
+     * when it is asked for.
+     */
+    Iterator<Event> iterateSeries(int eventId, LocalDateTime from, LocalDateTime to) {
+        Series s = optimisticRead(() -> {
+            Event base = eventCache.get(eventId);
+            return base == null ? null : seriesOf(base);
+        });
+        long[] range = (s == null) ? null : indexRange(s, from, to);
+        if (range == null) return Collections.emptyIterator();
+        return new Iterator<Event>() {
+            private long k = range[0];
+
+            @Override
+            public boolean hasNext() {
+                return k <= range[1];
+            }
+
+            @Override
+            public Event next() {
+                if (k > range[1]) throw new NoSuchElementException();
+                return occurrenceAt(s.base, (int) k++, s.intervalDays);
+            }
+        };
+    }
+
+    // 在读锁下按开始时间访问 [from, to) 内的发生，只给出基础事件和位置，不生成副本（供批量统计使用）
+    void scanOccurrences(LocalDateTime from, LocalDateTime to, BiConsumer<Event, OccurrenceRef> visitor) {
+        long stamp = lock.readLock();
+        try {
+            dayIndex.scan(from, null, to, ref -> {
+                Event base = eventCache.get(ref.getEventId());
+                if (base != null) visitor.accept(base, ref);
+                return true;
+            });
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // 每个系列只访问一次：基础事件 + 落在 [from, to) 内的发生次数，不生成副本（供流式统计使用）
+    void forEachSeriesCount(LocalDateTime from, LocalDateTime to, ObjLongConsumer<Event> visitor) {
+        List<Series> series;
+        long stamp = lock.readLock();
+        try {
+            series = new ArrayList<>(eventCache.size());
+            for (Event base : eventCache.values()) series.add(seriesOf(base));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        for (Series s : series) {
+            long[] range = indexRange(s, from, to);
+            if (range != null) visitor.accept(s.base, range[1] - range[0] + 1);
+        }
+    }
+
+    /** Occurrences of a single series inside [from, to); null bounds mean "unbounded". */
+    public List<Event> getOccurrencesOfSeries(int eventId, LocalDateTime from, LocalDateTime to) {
+        Series s = optimisticRead(() -> {
+            Event base = eventCache.get(eventId);
+            return base == null ? null : seriesOf(base);
+        });
+        List<Event> res = new ArrayList<>();
+        if (s != null) forEachOccurrenceOfSeries(s, from, to, res::add);
+        return res;
+    }
+
+    /**
+     * Full materialization of every occurrence. Kept for compatibility; prefer the window-bounded
+     * getOccurrences / forEachOccurrence for anything that does not really need all of them.
+     */
+    public List<Event> getAllEventsExpanded() {
+        return getOccurrences(null, null);
     }
 
 public List<Event> checkEventConflict(Event newEvent) {
@@ -120,43 +440,288 @@ public List<Event> checkEventConflict(Event newEvent) {
         LocalDateTime newEnd = newEvent.getEndDateTimeAsLdt();
         if (newStart == null || newEnd == null) return Collections.emptyList();
 
-        return eventCache.values().stream()
-            .filter(ex -> {
-                // 排除正在编辑的事件本身
-                if (ex.getEventId() == newEvent.getEventId()) return false;
-                LocalDateTime exStart = ex.getStartDateTimeAsLdt();
-                LocalDateTime exEnd = ex.getEndDateTimeAsLdt();
-                return exStart != null && exEnd != null && 
-                       newStart.isBefore(exEnd) && exStart.isBefore(newEnd);
-            })
-            .collect(Collectors.toList());
+        List<Event> overlapping = new ArrayList<>();
+        long stamp = lock.readLock();
+        try {
+            conflictIndex.findOverlapping(newStart, newEnd, overlapping);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        // 排除正在编辑的事件本身
+        overlapping.removeIf(ex -> ex.getEventId() == newEvent.getEventId());
+        return overlapping;
+    }
+
+    /** IDs (ascending) of the series whose title contains the keyword, ignoring case. */
+    public List<Integer> findSeriesByTitle(String keyword) {
+        return readTextIndexes(() -> titleIndex.search(keyword));
+    }
+
+    /** Title words starting with the prefix (or close to it, within maxEdits typos), for type-ahead. */
+    public List<String> completeTitleWord(String prefix, int maxEdits, int limit) {
+        return readTextIndexes(() -> titleWords.complete(prefix, maxEdits, limit));
+    }
+
+    /** Locations starting with the prefix (or close to it, within maxEdits typos), for type-ahead. */
+    public List<String> completeLocation(String prefix, int maxEdits, int limit) {
+        return readTextIndexes(() -> locationNames.complete(prefix, maxEdits, limit));
+    }
+
+    /** IDs (ascending) of the series in the given category, ignoring case. */
+    public List<Integer> findSeriesByCategory(String category) {
+        return toIdList(seriesBitsByCategory(category));
+    }
+
+    /** IDs (ascending) of the series at the given location, ignoring case. */
+    public List<Integer> findSeriesByLocation(String location) {
+        return toIdList(seriesBitsByLocation(location));
     }
 
+    /** IDs (ascending) of the series matching both the category and the location. */
+    public List<Integer> findSeriesByCategoryAndLocation(String category, String location) {
+        return toIdList(seriesBitsByCategoryAndLocation(category, location));
+    }
+
+    // 位图形式（调用方拿到的是副本），供 SearchManager 直接求交集
+    BitSet seriesBitsByCategory(String category) {
+        return readAttributes(() -> categoryIndex.lookup(category));
+    }
+
+    BitSet seriesBitsByLocation(String location) {
+        return readAttributes(() -> locationIndex.lookup(location));
+    }
+
+    BitSet seriesBitsByCategoryAndLocation(String category, String location) {
+        return readAttributes(() -> {
+            BitSet ids = categoryIndex.lookup(category);
+            ids.and(locationIndex.lookup(location));
+            return ids;
+        });
+    }
+
+    /** Aggregates over all occurrences, kept up to date on every change. Read-only outside this package. */
+    public EventStatistics getStatistics() {
+        return statistics;
+    }
+
+    /** Length of the longest current occurrence (an occurrence starting earlier than that cannot reach now). */
+    long getLongestDurationSeconds() {
+        return optimisticRead(() -> longestDurationSeconds);
+    }
+
+    public int getBaseEventCount() {
+        return optimisticRead(eventCache::size);
+    }
+
+    /** A copy of all base events, safe to iterate while other threads create or delete events. */
     public Collection<Event> getAllBaseEvents() {
-        return eventCache.values();
+        long stamp = lock.readLock();
+        try {
+            return new ArrayList<>(eventCache.values());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public Event getBaseEvent(int eventId) {
+        return optimisticRead(() -> eventCache.get(eventId));
     }
 
     public RecurrentEvent getRecurrentRule(int eventId) {
-        return recurrentRulesByEventId.get(eventId);
+        return optimisticRead(() -> recurrentRulesByEventId.get(eventId));
     }
 
     // --- 辅助私有方法 ---
-    
-    private int parseIntervalToDays(String interval) {
-        if (interval == null) return 0;
-        switch (interval.toLowerCase()) {
-            case "1d": return 1;
-            case "1w": return 7;
-            case "2w": return 14;
-            case "4w": return 28;
-            default: return 0;
+
+    /**
+     * Run a short, side-effect free read without locking and keep the result if no write overlapped;
+     * otherwise (or if the unlocked read tripped over a half-done write) run it again under the read lock.
+     * Only for bounded work such as map lookups - never for tree walks or full scans.
+     */
+    private <T> T optimisticRead(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) return result;
+            } catch (RuntimeException e) {
+                // torn read, retried below
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
         }
     }
-    
-    private Event cloneWithShift(Event base, int shiftDays) {
+
+    // 文本索引按需建立：第一次查询时升级为写锁，把所有事件加进去
+    private <T> T readTextIndexes(Supplier<T> query) {
+        long stamp = lock.readLock();
+        try {
+            if (!textIndexesBuilt) {
+                long ws = lock.tryConvertToWriteLock(stamp);
+                if (ws == 0) {
+                    lock.unlockRead(stamp);
+                    ws = lock.writeLock();
+                }
+                stamp = ws;
+                if (!textIndexesBuilt) {
+                    textIndexesBuilt = true;
+                    eventCache.values().forEach(this::indexText);
+                }
+            }
+            return query.get();
+        } finally {
+            lock.unlock(stamp);
+        }
+    }
+
+    // 先按记录下来的旧值删除，再按当前值加入
+    private void indexText(Event e) {
+        if (!textIndexesBuilt) return;
+        unindexText(e.getEventId());
+        titleIndex.put(e.getEventId(), e.getTitle());
+        for (String w : words(e.getTitle())) titleWords.add(w.toLowerCase(), w);
+        if (e.getTitle() != null) indexedTitles.put(e.getEventId(), e.getTitle());
+        if (e.getLocation() != null && !e.getLocation().trim().isEmpty()) {
+            String location = e.getLocation().trim();
+            locationNames.add(location.toLowerCase(), location);
+            indexedLocations.put(e.getEventId(), location);
+        }
+    }
+
+    private void unindexText(int eventId) {
+        if (!textIndexesBuilt) return;
+        titleIndex.remove(eventId);
+        for (String w : words(indexedTitles.remove(eventId))) titleWords.remove(w.toLowerCase());
+        String location = indexedLocations.remove(eventId);
+        if (location != null) locationNames.remove(location.toLowerCase());
+    }
+
+    private static List<String> words(String title) {
+        List<String> res = new ArrayList<>();
+        if (title == null) return res;
+        for (String w : title.split("[^\\p{L}\\p{N}]+")) {
+            if (!w.isEmpty()) res.add(w);
+        }
+        return res;
+    }
+
+    private BitSet readAttributes(Supplier<BitSet> query) {
+        long stamp = lock.readLock();
+        try {
+            return query.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static List<Integer> toIdList(BitSet ids) {
+        List<Integer> res = new ArrayList<>(ids.cardinality());
+        ids.stream().forEach(res::add);
+        return res;
+    }
+
+    // 更新类别 / 地点索引（不改动传入的事件）
+    private void indexAttributes(Event e) {
+        categoryIndex.put(e.getEventId(), e.getCategory());
+        locationIndex.put(e.getEventId(), e.getLocation());
+    }
+
+    // 一个系列在某一时刻的快照：基础事件 + 间隔 + 最后一次发生的序号
+    private static final class Series {
+        final Event base;
+        final int intervalDays;
+        final int lastIndex;
+
+        Series(Event base, int intervalDays, int lastIndex) {
+            this.base = base;
+            this.intervalDays = intervalDays;
+            this.lastIndex = lastIndex;
+        }
+    }
+
+    private Series seriesOf(Event base) {
+        RecurrentEvent rule = recurrentRulesByEventId.get(base.getEventId());
+        LocalDateTime start = base.getStartDateTimeAsLdt();
+        int days = intervalDaysOf(rule);
+        int last = (days > 0 && start != null) ? rule.getLastOccurrenceIndex(start.toLocalDate()) : 0;
+        return new Series(base, days, last);
+    }
+
+    // 重新计算单个系列（基础事件 + 重复事件）在日期索引中的位置
+    private void indexSeries(Event base) {
+        Series series = seriesOf(base);
+        untrackDuration(base.getEventId());
+        LocalDateTime start = base.getStartDateTimeAsLdt();
+        LocalDateTime end = base.getEndDateTimeAsLdt();
+        if (start != null && end != null) {
+            long seconds = ChronoUnit.SECONDS.between(start, end);
+            durationById.put(base.getEventId(), seconds);
+            durationCounts.merge(seconds, 1, Integer::sum);
+            longestDurationSeconds = Math.max(0, durationCounts.lastKey());
+        }
+        dayIndex.addSeries(base.getEventId(), base.getStartDateTimeAsLdt(), series.intervalDays, series.lastIndex);
+        statistics.putSeries(base, series.intervalDays, series.lastIndex);
+    }
+
+    private void untrackDuration(int eventId) {
+        Long seconds = durationById.remove(eventId);
+        if (seconds == null) return;
+        durationCounts.computeIfPresent(seconds, (d, n) -> n > 1 ? n - 1 : null);
+        longestDurationSeconds = durationCounts.isEmpty() ? 0 : Math.max(0, durationCounts.lastKey());
+    }
+
+    private int intervalDaysOf(RecurrentEvent rule) {
+        return (rule != null && rule.isEnabled()) ? rule.getIntervalDays() : 0;
+    }
+
+    // 第 k 次发生 = 基础开始时间 + k * 间隔，只计算落在 [from, to) 内的 k
+    private void forEachOccurrenceOfSeries(Series series, LocalDateTime from, LocalDateTime to, Consumer<Event> action) {
+        long[] range = indexRange(series, from, to);
+        if (range == null) return;
+        for (long k = range[0]; k <= range[1]; k++) {
+            action.accept(occurrenceAt(series.base, (int) k, series.intervalDays));
+        }
+    }
+
+    // 落在 [from, to) 内的序号范围 {first, last}，没有则返回 null
+    private long[] indexRange(Series series, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = series.base.getStartDateTimeAsLdt();
+        if (start == null) return null;
+
+        long step = series.intervalDays * SECONDS_PER_DAY;
+        long first = 0;
+        long last = series.lastIndex;
+
+        if (from != null && start.isBefore(from)) {
+            if (step == 0) return null;
+            long gap = ChronoUnit.SECONDS.between(start, from);
+            first = (gap + step - 1) / step;
+        }
+        if (to != null) {
+            if (!start.isBefore(to)) return null;
+            long span = ChronoUnit.SECONDS.between(start, to);
+            last = (step == 0) ? 0 : Math.min(last, (span - 1) / step);
+        }
+        return first <= last ? new long[]{first, last} : null;
+    }
+
+    private Event occurrenceAt(Event base, int index) {
+        return occurrenceAt(base, index, intervalDaysOf(recurrentRulesByEventId.get(base.getEventId())));
+    }
+
+    // index 0 是基础事件本身，其余为按间隔平移的副本
+    private Event occurrenceAt(Event base, int index, int intervalDays) {
+        return index == 0 ? base : cloneWithShift(base, (long) index * intervalDays);
+    }
+
+    private Event cloneWithShift(Event base, long shiftDays) {
         Event e = new Event();
         e.setEventId(base.getEventId());
-        e.setTitle(base.getTitle() + " (R)"); // 标记为重复生成的
+        e.setTitle(base.getTitle() + CLONE_MARKER); // 标记为重复生成的
         e.setDescription(base.getDescription());
         e.setLocation(base.getLocation());
         e.setCategory(base.getCategory());
@@ -0,0 +1,70 @@
+package calenderApplication.businessLogic;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A combination of search predicates for SearchManager.search. Every predicate is optional; an
+ * empty query matches every occurrence. Matching follows the single-predicate searches: the
+ * keyword is a case-insensitive substring of the base title, category and location are
+ * case-insensitive equality, and the time range covers occurrences starting in [from, to).
+ */
+public class EventQuery {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String keyword;
+    private String category;
+    private String location;
+    private int limit = Integer.MAX_VALUE;
+
+    /** Occurrences starting on or after this time (null = no lower bound). */
+    public EventQuery from(LocalDateTime from) {
+        this.from = from;
+        return this;
+    }
+
+    /** Occurrences starting before this time (null = no upper bound). */
+    public EventQuery to(LocalDateTime to) {
+        this.to = to;
+        return this;
+    }
+
+    /** Both dates inclusive, like searchEventsByDateRange. */
+    public EventQuery between(LocalDate startDate, LocalDate endDate) {
+        this.from = startDate.atStartOfDay();
+        this.to = endDate.plusDays(1).atStartOfDay();
+        return this;
+    }
+
+    public EventQuery withKeyword(String keyword) {
+        this.keyword = keyword;
+        return this;
+    }
+
+    public EventQuery withCategory(String category) {
+        this.category = category;
+        return this;
+    }
+
+    public EventQuery withLocation(String location) {
+        this.location = location;
+        return this;
+    }
+
+    /** Stop after this many results; the planner then prefers plans that can stop early. */
+    public EventQuery limit(int limit) {
+        this.limit = Math.max(0, limit);
+        return this;
+    }
+
+    public LocalDateTime getFrom() { return from; }
+    public LocalDateTime getTo() { return to; }
+    public String getKeyword() { return keyword; }
+    public String getCategory() { return category; }
+    public String getLocation() { return location; }
+    public int getLimit() { return limit; }
+
+    public boolean hasKeyword() { return keyword != null && !keyword.trim().isEmpty(); }
+    public boolean hasCategory() { return category != null; }
+    public boolean hasLocation() { return location != null; }
+}
@@ -0,0 +1,164 @@
+package calenderApplication.businessLogic;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running aggregates over every occurrence (base events and recurrences): occurrences per day of
+ * week, per category and per month, plus the total and count of positive durations.
+ *
+ * EventManager hands over each series when it changes. A series' contribution is computed in
+ * closed form from (start, interval, last index): all occurrences share the same duration and
+ * category, weekly intervals keep the weekday and daily ones cycle through it. Only the monthly
+ * counts walk the months the series spans. The contribution is remembered so it can be
+ * subtracted again when the series is updated or deleted. Queries are O(1) copies.
+ *
+ * Only EventManager updates the aggregates (under its write lock), so the mutators are
+ * package-private; everyone else gets the read-only queries.
+ */
+public class EventStatistics {
+    private static final String UNCATEGORIZED = "Uncategorized";
+
+    private static final class Contribution {
+        final LocalDateTime start;
+        final int intervalDays;
+        final int lastIndex;
+        final String category;
+        final long minutes; // <= 0 when the event does not count towards the average duration
+
+        Contribution(LocalDateTime start, int intervalDays, int lastIndex, String category, long minutes) {
+            this.start = start;
+            this.intervalDays = intervalDays;
+            this.lastIndex = lastIndex;
+            this.category = category;
+            this.minutes = minutes;
+        }
+
+        long occurrences() {
+            return lastIndex + 1L;
+        }
+    }
+
+    private final Map<Integer, Contribution> bySeries = new HashMap<>();
+    private final long[] perDayOfWeek = new long[7];
+    private final Map<String, Long> perCategory = new HashMap<>();
+    private final Map<YearMonth, Long> perMonth = new HashMap<>();
+    private long durationMinutes = 0;
+    private long durationCount = 0;
+
+    synchronized void clear() {
+        bySeries.clear();
+        Arrays.fill(perDayOfWeek, 0);
+        perCategory.clear();
+        perMonth.clear();
+        durationMinutes = 0;
+        durationCount = 0;
+    }
+
+    /** Replace the contribution of a series; lastIndex 0 means a single (non-repeating) event. */
+    synchronized void putSeries(Event base, int intervalDays, int lastIndex) {
+        removeSeries(base.getEventId());
+        LocalDateTime start = base.getStartDateTimeAsLdt();
+        if (start == null) return;
+        LocalDateTime end = base.getEndDateTimeAsLdt();
+        long minutes = (end == null) ? 0 : Duration.between(start, end).toMinutes();
+        Contribution c = new Contribution(start, intervalDays, intervalDays > 0 ? lastIndex : 0,
+                                          categoryKey(base.getCategory()), minutes);
+        bySeries.put(base.getEventId(), c);
+        apply(c, 1);
+    }
+
+    synchronized void removeSeries(int eventId) {
+        Contribution c = bySeries.remove(eventId);
+        if (c != null) apply(c, -1);
+    }
+
+    /** Occurrences per day of week, indexed by DayOfWeek.getValue() - 1. */
+    public synchronized long[] getDayOfWeekCounts() {
+        return perDayOfWeek.clone();
+    }
+
+    public synchronized Map<String, Long> getCategoryCounts() {
+        return new HashMap<>(perCategory);
+    }
+
+    public synchronized long getMonthCount(YearMonth month) {
+        return perMonth.getOrDefault(month, 0L);
+    }
+
+    /**
+     * Upper estimate of the occurrences starting in [from, to): the counts of every month the
+     * window touches. Null bounds mean "unbounded".
+     */
+    public synchronized long estimateCount(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || ChronoUnit.MONTHS.between(from, to) > perMonth.size()) {
+            long n = 0;
+            for (YearMonth m : perMonth.keySet()) {
+                if ((from == null || !m.isBefore(YearMonth.from(from))) && (to == null || !m.isAfter(YearMonth.from(to)))) n += perMonth.get(m);
+            }
+            return n;
+        }
+        long n = 0;
+        for (YearMonth m = YearMonth.from(from); !m.isAfter(YearMonth.from(to)); m = m.plusMonths(1)) {
+            n += perMonth.getOrDefault(m, 0L);
+        }
+        return n;
+    }
+
+    public synchronized double getAverageDurationMinutes() {
+        return (durationCount == 0) ? 0.0 : (double) durationMinutes / durationCount;
+    }
+
+    // --- helpers ---
+
+    private void apply(Contribution c, int sign) {
+        long n = c.occurrences();
+
+        int firstDow = c.start.getDayOfWeek().getValue() - 1;
+        if (c.intervalDays % 7 == 0) {
+            perDayOfWeek[firstDow] += sign * n;
+        } else {
+            // daily: n / 7 full weeks, the remainder continues from the first weekday
+            for (int i = 0; i < 7; i++) {
+                long k = n / 7 + (i < n % 7 ? 1 : 0);
+                perDayOfWeek[(firstDow + i * c.intervalDays) % 7] += sign * k;
+            }
+        }
+
+        add(perCategory, c.category, sign * n);
+
+        if (c.minutes > 0) {
+            durationMinutes += sign * c.minutes * n;
+            durationCount += sign * n;
+        }
+
+        if (c.intervalDays == 0) {
+            add(perMonth, YearMonth.from(c.start), sign);
+            return;
+        }
+        long step = c.intervalDays * 24L * 60 * 60;
+        long k = 0;
+        while (k <= c.lastIndex) {
+            YearMonth ym = YearMonth.from(c.start.plusDays(k * c.intervalDays));
+            long untilNextMonth = ChronoUnit.SECONDS.between(c.start, ym.plusMonths(1).atDay(1).atStartOfDay());
+            long next = Math.min(c.lastIndex + 1L, (untilNextMonth + step - 1) / step);
+            add(perMonth, ym, sign * (next - k));
+            k = next;
+        }
+    }
+
+    private static <K> void add(Map<K, Long> map, K key, long delta) {
+        long v = map.getOrDefault(key, 0L) + delta;
+        if (v == 0) map.remove(key);
+        else map.put(key, v);
+    }
+
+    static String categoryKey(String category) {
+        return (category == null || category.trim().isEmpty()) ? UNCATEGORIZED : category.trim();
+    }
+}
@@ -0,0 +1,27 @@
+package calenderApplication.businessLogic;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/** A free interval [start, end) in the calendar, as returned by SearchManager.findFreeSlots. */
+public class FreeSlot {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public FreeSlot(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public LocalDateTime getStart() { return start; }
+    public LocalDateTime getEnd() { return end; }
+
+    public Duration getLength() {
+        return Duration.between(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return start + " - " + end;
+    }
+}
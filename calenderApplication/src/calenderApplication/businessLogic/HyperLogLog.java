@@ -0,0 +1,53 @@
+package calenderApplication.businessLogic;
+
+/**
+ * HyperLogLog distinct counter with 2^12 one-byte registers: 4 KB of memory for any number of
+ * values, with a typical error of about 1.6%. Small cardinalities use linear counting, which is
+ * close to exact. Adding the same value again never changes the estimate.
+ */
+public class HyperLogLog {
+    private static final int P = 12;
+    private static final int M = 1 << P;
+
+    private final byte[] registers = new byte[M];
+
+    public void add(String value) {
+        if (value == null) return;
+        long h = hash(value);
+        int idx = (int) (h >>> (64 - P));
+        long rest = (h << P) | (1L << (P - 1)); // guard bit bounds the run of zeros
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[idx]) registers[idx] = rank;
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) zeros++;
+        }
+        double alpha = 0.7213 / (1 + 1.079 / M);
+        double e = alpha * M * M / sum;
+        if (e <= 2.5 * M && zeros > 0) e = M * Math.log((double) M / zeros);
+        return Math.round(e);
+    }
+
+    public void merge(HyperLogLog o) {
+        for (int i = 0; i < M; i++) {
+            if (o.registers[i] > registers[i]) registers[i] = o.registers[i];
+        }
+    }
+
+    // FNV-1a over the chars, then the SplitMix64 finalizer to spread the bits
+    private static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,43 @@
+package calenderApplication.businessLogic;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Forward-only cursor over the occurrences starting in [from, to), in start-time order.
+ *
+ * Each page is read from EventManager's start-time index under its read lock and resumes right
+ * after the last occurrence returned, so a page costs O(log n + page size) no matter how far
+ * the cursor has advanced. Changes made between pages are seen if they sort after the position.
+ * An optional series filter skips occurrences of other events before they are materialized.
+ */
+public class OccurrenceCursor {
+    private final EventManager eventManager;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final IntPredicate seriesFilter;
+    private OccurrenceRef last;
+    private boolean exhausted = false;
+
+    OccurrenceCursor(EventManager eventManager, LocalDateTime from, LocalDateTime to, IntPredicate seriesFilter) {
+        this.eventManager = eventManager;
+        this.from = from;
+        this.to = to;
+        this.seriesFilter = seriesFilter;
+    }
+
+    /** Up to limit further occurrences; an empty list once the range is exhausted. */
+    public List<Event> nextPage(int limit) {
+        OccurrenceRef[] position = {last};
+        List<Event> page = eventManager.readPage(from, to, seriesFilter, position, 0, limit);
+        last = position[0];
+        if (page.size() < limit) exhausted = true;
+        return page;
+    }
+
+    /** False once a page came back shorter than requested. */
+    public boolean hasMore() {
+        return !exhausted;
+    }
+}
@@ -0,0 +1,46 @@
+package calenderApplication.businessLogic;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Lightweight handle to one occurrence of a series: the base event ID, the occurrence index
+ * (0 = base event, k = k-th repetition) and its start time. Indexes keep these instead of
+ * full Event clones; EventManager turns them into Events only when a caller asks for them.
+ */
+public final class OccurrenceRef implements Comparable<OccurrenceRef> {
+    private final int eventId;
+    private final int index;
+    private final long startSecond; // LocalDateTime as UTC epoch seconds, only used for ordering
+
+    public OccurrenceRef(int eventId, int index, LocalDateTime start) {
+        this.eventId = eventId;
+        this.index = index;
+        this.startSecond = start.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public int getEventId() { return eventId; }
+    public int getIndex() { return index; }
+    public LocalDateTime getStart() { return LocalDateTime.ofEpochSecond(startSecond, 0, ZoneOffset.UTC); }
+    long getStartSecond() { return startSecond; }
+
+    @Override
+    public int compareTo(OccurrenceRef o) {
+        int c = Long.compare(startSecond, o.startSecond);
+        if (c != 0) return c;
+        c = Integer.compare(eventId, o.eventId);
+        return c != 0 ? c : Integer.compare(index, o.index);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof OccurrenceRef)) return false;
+        OccurrenceRef r = (OccurrenceRef) o;
+        return eventId == r.eventId && index == r.index && startSecond == r.startSecond;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * eventId + index) + Long.hashCode(startSecond);
+    }
+}
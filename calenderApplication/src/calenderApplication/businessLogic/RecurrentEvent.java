@@ -1,6 +1,7 @@
 package calenderApplication.businessLogic;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 
 public class RecurrentEvent {
     private int eventId;
@@ -47,6 +48,37 @@ public class RecurrentEvent {
         }
     }
 
+    /** Business helper: interval as a number of days, 0 if the interval is not supported */
+    public int getIntervalDays() {
+        if (recurrentInterval == null) return 0;
+        switch (recurrentInterval.trim().toLowerCase()) {
+            case "1d": return 1;
+            case "1w": return 7;
+            case "2w": return 14;
+            case "4w": return 28;
+            default: return 0;
+        }
+    }
+
+    /**
+     * Business helper: index of the last occurrence (0 = the base event itself).
+     * Honors both limits: recurrentTimes counts the base event, and no occurrence may start
+     * after recurrentEndDate. With neither limit set only the base event exists.
+     */
+    public int getLastOccurrenceIndex(LocalDate baseDate) {
+        int days = getIntervalDays();
+        if (!isEnabled() || days <= 0) return 0;
+
+        long last = (recurrentTimes > 0) ? recurrentTimes - 1 : Long.MAX_VALUE;
+        LocalDate end = getRecurrentEndDateAsLocalDate();
+        if (end != null && baseDate != null) {
+            last = Math.min(last, Math.max(0, ChronoUnit.DAYS.between(baseDate, end) / days));
+        } else if (recurrentTimes <= 0) {
+            last = 0;
+        }
+        return (int) Math.min(last, Integer.MAX_VALUE);
+    }
+
 private boolean enabled; 
 
 public void setEnabled(boolean b) {
@@ -4,18 +4,29 @@ import calenderApplication.dataLayer.FileIOManager;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class ReminderManager {
     private final EventManager eventManager;
     private final FileIOManager ioManager;
-    private final Map<Integer, ReminderConfig> reminderByEventId = new HashMap<>();
+    // read by the scheduler thread when a reminder fires
+    private final Map<Integer, ReminderConfig> reminderByEventId = new ConcurrentHashMap<>();
+    private final ReminderScheduler scheduler = new ReminderScheduler(this::fireReminder);
+    private volatile Consumer<String> reminderListener;
 
     public ReminderManager(EventManager eventManager, FileIOManager ioManager) {
+        // load from the binary snapshot (reminder.csv is the fallback)
+        this(eventManager, ioManager, ioManager.loadSnapshot().getReminders());
+    }
+
+    /** Build from reminders already loaded (e.g. the snapshot EventManager was built from). */
+    public ReminderManager(EventManager eventManager, FileIOManager ioManager, List<ReminderConfig> reminders) {
         this.eventManager = eventManager;
         this.ioManager = ioManager;
 
-        // load from reminder.csv; if duplicates exist, last one wins
-        for (ReminderConfig c : ioManager.readAllReminderConfigs()) {
+        // if duplicates exist, last one wins
+        for (ReminderConfig c : reminders) {
             reminderByEventId.put(c.getEventId(), c);
         }
     }
@@ -30,6 +41,7 @@ public class ReminderManager {
 
         // persistent append (your FileIOManager writes append)
         ioManager.writeReminderConfigToFile(config);
+        reschedule(config.getEventId());
     }
 
     public void disableReminder(int eventId) {
@@ -62,6 +74,50 @@ public class ReminderManager {
         return res;
     }
 
+    /**
+     * Start firing reminders at their exact time. The listener gets the same message text as
+     * getUpcomingReminders and is called on the scheduler thread, once per reminder.
+     */
+    public void startScheduler(Consumer<String> listener) {
+        this.reminderListener = listener;
+        for (Integer eventId : reminderByEventId.keySet()) {
+            reschedule(eventId);
+        }
+        scheduler.start();
+    }
+
+    public void stopScheduler() {
+        scheduler.stop();
+    }
+
+    /** Called by EventManager after an event changed, so its reminder moves with it. */
+    public void onEventUpdated(int eventId) {
+        reschedule(eventId);
+    }
+
+    private void reschedule(int eventId) {
+        ReminderConfig cfg = reminderByEventId.get(eventId);
+        Event e = eventManager.getBaseEvent(eventId);
+        if (cfg == null || !cfg.isEnable() || e == null || e.getStartDateTimeAsLdt() == null
+                || !LocalDateTime.now().isBefore(e.getStartDateTimeAsLdt())) {
+            scheduler.cancel(eventId);
+            return;
+        }
+        scheduler.schedule(eventId, e.getStartDateTimeAsLdt().minus(cfg.getRemindDurationAsDuration()));
+    }
+
+    private void fireReminder(int eventId) {
+        Consumer<String> listener = reminderListener;
+        ReminderConfig cfg = reminderByEventId.get(eventId);
+        Event e = eventManager.getBaseEvent(eventId);
+        if (listener == null || cfg == null || !cfg.isEnable() || e == null || e.getStartDateTimeAsLdt() == null) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!now.isBefore(e.getStartDateTimeAsLdt())) return;
+        long mins = Math.max(0, Duration.between(now, e.getStartDateTimeAsLdt()).toMinutes());
+        listener.accept("Your next event is coming soon in " + mins + " minutes: " + e.getTitle());
+    }
+
     public ReminderConfig getReminderConfig(int eventId) {
         return reminderByEventId.get(eventId);
     }
@@ -70,6 +126,7 @@ public void deleteReminder(int eventId) {
     if (eventId <= 0) return;
 
     reminderByEventId.remove(eventId);
+    scheduler.cancel(eventId);
 
     ioManager.deleteReminderConfigFromCsv(eventId);
 }
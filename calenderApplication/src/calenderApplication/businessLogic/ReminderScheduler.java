@@ -0,0 +1,119 @@
+package calenderApplication.businessLogic;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+
+/**
+ * Fires reminders at their exact time. Next-fire times live in a priority queue and a single
+ * daemon thread sleeps until the earliest one, so no work is done while nothing is due.
+ *
+ * Rescheduling or cancelling only replaces the entry in the pending map; the superseded queue
+ * entry is dropped when it reaches the head (or when the queue is rebuilt because too many
+ * stale entries piled up). Each scheduled entry fires at most once.
+ */
+public class ReminderScheduler {
+    // re-check the wall clock at least this often, so a clock change / suspend cannot delay a reminder for long
+    private static final long MAX_SLEEP_MS = 60_000;
+
+    private static class Entry implements Comparable<Entry> {
+        final int eventId;
+        final LocalDateTime fireAt;
+
+        Entry(int eventId, LocalDateTime fireAt) {
+            this.eventId = eventId;
+            this.fireAt = fireAt;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            int c = fireAt.compareTo(o.fireAt);
+            return c != 0 ? c : Integer.compare(eventId, o.eventId);
+        }
+    }
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private final Map<Integer, Entry> pending = new HashMap<>();
+    private final IntConsumer onFire;
+    private Thread worker;
+
+    /** onFire is called on the scheduler thread with the event ID, outside the scheduler lock. */
+    public ReminderScheduler(IntConsumer onFire) {
+        this.onFire = onFire;
+    }
+
+    /** Schedule (or move) the reminder of an event; a time in the past fires right away. */
+    public synchronized void schedule(int eventId, LocalDateTime fireAt) {
+        Entry e = new Entry(eventId, fireAt);
+        pending.put(eventId, e);
+        queue.add(e);
+        if (queue.size() > 2 * pending.size() + 16) rebuildQueue();
+        if (queue.peek() == e) notifyAll();
+    }
+
+    public synchronized void cancel(int eventId) {
+        if (pending.remove(eventId) != null && queue.size() > 2 * pending.size() + 16) rebuildQueue();
+    }
+
+    public synchronized void start() {
+        if (worker != null) return;
+        worker = new Thread(this::runLoop, "reminder-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public synchronized void stop() {
+        if (worker == null) return;
+        worker.interrupt();
+        worker = null;
+    }
+
+    // entries in the queue, superseded ones included (for the tests)
+    synchronized int queuedEntries() {
+        return queue.size();
+    }
+
+    private void rebuildQueue() {
+        queue.clear();
+        queue.addAll(pending.values());
+    }
+
+    private void runLoop() {
+        Thread self = Thread.currentThread();
+        try {
+            while (true) {
+                int due;
+                synchronized (this) {
+                    if (worker != self) return;
+                    Entry head = queue.peek();
+                    if (head != null && pending.get(head.eventId) != head) {
+                        queue.poll(); // cancelled or rescheduled since
+                        continue;
+                    }
+                    if (head == null) {
+                        wait(MAX_SLEEP_MS);
+                        continue;
+                    }
+                    long waitMs = Duration.between(LocalDateTime.now(), head.fireAt).toMillis();
+                    if (waitMs > 0) {
+                        wait(Math.min(waitMs, MAX_SLEEP_MS));
+                        continue;
+                    }
+                    queue.poll();
+                    pending.remove(head.eventId);
+                    due = head.eventId;
+                }
+                try {
+                    onFire.accept(due);
+                } catch (RuntimeException e) {
+                    System.err.println("Reminder failed for event " + due + ": " + e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        }
+    }
+}
@@ -1,11 +1,30 @@
 package calenderApplication.businessLogic;
 
 import java.time.LocalDate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class SearchManager {
+    // with at most this many candidate series the keyword is checked on their titles directly
+    private static final int VERIFY_TITLE_LIMIT = 1024;
+    // index walks fetch small pages first, so a top-K query stops after touching about K occurrences
+    private static final int FIRST_PAGE_SIZE = 16;
+    private static final int MAX_PAGE_SIZE = 1024;
+
     private final EventManager eventManager;
 
     public SearchManager(EventManager eventManager) {
@@ -13,60 +32,338 @@ public class SearchManager {
     }
 
     public List<Event> searchEventsByDate(LocalDate targetDate) {
-        List<Event> all = eventManager.getAllEventsExpanded();
-        List<Event> res = new ArrayList<>();
-        for (Event e : all) {
-            if (e.getStartDateTimeAsLdt() == null) continue;
-            if (e.getStartDateTimeAsLdt().toLocalDate().equals(targetDate)) res.add(e);
-        }
-        res.sort(Comparator.comparing(Event::getStartDateTimeAsLdt, Comparator.nullsLast(Comparator.naturalOrder())));
-        return res;
+        // day index buckets are already ordered by start time
+        return eventManager.getEventsForDate(targetDate);
     }
 
     public List<Event> searchEventsByDateRange(LocalDate startDate, LocalDate endDate) {
-        List<Event> all = eventManager.getAllEventsExpanded();
-        List<Event> res = new ArrayList<>();
-        for (Event e : all) {
-            if (e.getStartDateTimeAsLdt() == null) continue;
-            LocalDate d = e.getStartDateTimeAsLdt().toLocalDate();
-            if ((d.isAfter(startDate) || d.equals(startDate)) && (d.isBefore(endDate) || d.equals(endDate))) {
-                res.add(e);
-            }
-        }
-        res.sort(Comparator.comparing(Event::getStartDateTimeAsLdt, Comparator.nullsLast(Comparator.naturalOrder())));
-        return res;
+        return searchEventsByDateRange(startDate, endDate, 0, Integer.MAX_VALUE);
+    }
+
+    /** Page of the events in the (inclusive) date range, ordered by start time. */
+    public List<Event> searchEventsByDateRange(LocalDate startDate, LocalDate endDate, int offset, int limit) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) return new ArrayList<>();
+        // the start-time index already returns them in order
+        return eventManager.getOccurrencesPage(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay(), offset, limit);
     }
 
+    /**
+     * Occurrences whose displayed title contains the keyword, ignoring case, like the plain filter
+     * over getAllEventsExpanded this replaces: recurrence copies are matched on their own title,
+     * which ends in " (R)". The base events come first, then the copies, each in series ID order.
+     *
+     * The title index finds the series whose base title matches; all their occurrences do. Only a
+     * keyword that runs into the " (R)" marker can match a copy without its base, and for those
+     * the titles of the recurring series are checked one by one.
+     */
     public List<Event> searchEventsByTitle(String keyword) {
         String k = (keyword == null) ? "" : keyword.trim().toLowerCase();
-        List<Event> all = eventManager.getAllEventsExpanded();
-        List<Event> res = new ArrayList<>();
-        for (Event e : all) {
-            String t = (e.getTitle() == null) ? "" : e.getTitle().toLowerCase();
-            if (t.contains(k)) res.add(e);
+        List<Integer> ids = eventManager.findSeriesByTitle(k);
+        if (!touchesCloneMarker(k)) return expandSeries(ids);
+
+        BitSet candidates = toBits(ids);
+        for (Event base : eventManager.getAllBaseEvents()) {
+            RecurrentEvent rule = eventManager.getRecurrentRule(base.getEventId());
+            if (rule != null && rule.isEnabled() && displayedTitleContains(base.getTitle() + EventManager.CLONE_MARKER, k)) {
+                candidates.set(base.getEventId());
+            }
         }
-        return res;
+        List<Integer> all = new ArrayList<>();
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) all.add(id);
+        return expandSeries(all, e -> displayedTitleContains(e.getTitle(), k));
     }
 
-    public List<Event> filterEventsByCategory(String category) {
-        String k = (category == null) ? "" : category.trim().toLowerCase();
-        List<Event> all = eventManager.getAllEventsExpanded();
-        List<Event> res = new ArrayList<>();
-        for (Event e : all) {
-            String c = (e.getCategory() == null) ? "" : e.getCategory().toLowerCase();
-            if (c.equals(k)) res.add(e);
+    // 关键字能否跨到 " (R)" 标记上：结尾是标记的前缀，或整个落在标记里
+    private static boolean touchesCloneMarker(String k) {
+        String marker = EventManager.CLONE_MARKER.toLowerCase();
+        if (k.isEmpty()) return false;
+        if (marker.contains(k)) return true;
+        for (int n = 1; n <= marker.length(); n++) {
+            if (k.endsWith(marker.substring(0, n))) return true;
         }
-        return res;
+        return false;
+    }
+
+    private static boolean displayedTitleContains(String title, String k) {
+        return title != null && title.toLowerCase().contains(k);
+    }
+
+    public List<Event> filterEventsByCategory(String category) {
+        return expandSeries(eventManager.findSeriesByCategory(category));
     }
 
     public List<Event> filterEventsByLocation(String location) {
-        String k = (location == null) ? "" : location.trim().toLowerCase();
-        List<Event> all = eventManager.getAllEventsExpanded();
-        List<Event> res = new ArrayList<>();
-        for (Event e : all) {
-            String loc = (e.getLocation() == null) ? "" : e.getLocation().toLowerCase();
-            if (loc.equals(k)) res.add(e);
+        return expandSeries(eventManager.findSeriesByLocation(location));
+    }
+
+    public List<Event> filterEventsByCategoryAndLocation(String category, String location) {
+        return expandSeries(eventManager.findSeriesByCategoryAndLocation(category, location));
+    }
+
+    /**
+     * Occurrences matching every predicate of the query, produced lazily in start-time order.
+     * Unlike searchEventsByTitle(String), the keyword is matched on the series' base title only,
+     * so the " (R)" marker of recurrence copies never matches.
+     *
+     * Planning: category and location are bitmap lookups and are intersected first. The keyword
+     * then either goes through the title index or, when few candidates are left, is checked on
+     * their titles directly. Of the two ways to produce ordered output, the cheaper one is used:
+     * walking the start-time index over the window (skipping other series) when the window holds
+     * fewer occurrences than there are candidate series, otherwise merging the candidates' own
+     * occurrence sequences through a heap.
+     *
+     * With a limit K the walk only has to go until K matches are found, about K divided by the
+     * share of matching series, which is what it is compared against then. Either way the result
+     * stops as soon as K occurrences were produced.
+     */
+    public Stream<Event> search(EventQuery query) {
+        return plan(query, query.getLimit());
+    }
+
+    /** The first results of the query, in start-time order; limit replaces the query's own. */
+    public List<Event> search(EventQuery query, int limit) {
+        // the caller's query is left as it is
+        return plan(query, Math.max(0, limit)).collect(Collectors.toList());
+    }
+
+    private Stream<Event> plan(EventQuery query, int limit) {
+        LocalDateTime from = query.getFrom();
+        LocalDateTime to = query.getTo();
+        BitSet candidates = candidateSeries(query); // null = every series
+
+        Iterator<Event> it;
+        if (candidates == null) {
+            it = indexWalk(from, to, null);
+        } else if (candidates.isEmpty()) {
+            it = Collections.emptyIterator();
+        } else {
+            long matching = candidates.cardinality();
+            long walkCost = eventManager.getStatistics().estimateCount(from, to);
+            if (limit < Integer.MAX_VALUE) {
+                long total = Math.max(1, eventManager.getBaseEventCount());
+                walkCost = Math.min(walkCost, limit * total / matching);
+            }
+            it = (walkCost <= matching) ? indexWalk(from, to, candidates) : seriesMerge(candidates, from, to);
+        }
+        Stream<Event> res = StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL), false);
+        return (limit < Integer.MAX_VALUE) ? res.limit(limit) : res;
+    }
+
+    /** The next count occurrences starting from now. */
+    public List<Event> getUpcomingEvents(int count) {
+        return search(new EventQuery().from(LocalDateTime.now()), count);
+    }
+
+    /** The next count occurrences from now in the category (case-insensitive). */
+    public List<Event> getUpcomingEventsInCategory(String category, int count) {
+        return search(new EventQuery().from(LocalDateTime.now()).withCategory(category), count);
+    }
+
+    /** The first limit occurrences (by start time) whose title contains the keyword. */
+    public List<Event> searchEventsByTitle(String keyword, int limit) {
+        return search(new EventQuery().withKeyword(keyword), limit);
+    }
+
+    /**
+     * The first count free intervals of at least the given length inside [from, to), optionally
+     * limited to working hours (both null = any time of day). Each result is a maximal free
+     * interval, clipped to the window and to the working hours of its day.
+     *
+     * One sweep over the occurrences in start-time order (recurrences included) merges the busy
+     * intervals on the fly; the walk starts early enough to see long events already running at
+     * from (one longest current event before it, so deleting a long event shortens it again),
+     * and stops as soon as count slots were found.
+     */
+    public List<FreeSlot> findFreeSlots(Duration length, LocalDateTime from, LocalDateTime to,
+                                        LocalTime workStart, LocalTime workEnd, int count) {
+        List<FreeSlot> slots = new ArrayList<>();
+        if (length == null || from == null || to == null || !from.isBefore(to) || count <= 0) return slots;
+        boolean workingHours = workStart != null && workEnd != null && workStart.isBefore(workEnd);
+
+        LocalDateTime lookBack = from.minusSeconds(eventManager.getLongestDurationSeconds());
+        Iterator<Event> busy = indexWalk(lookBack, to, null);
+        LocalDateTime freeFrom = from; // everything before this is busy or already handed out
+        while (busy.hasNext() && slots.size() < count && freeFrom.isBefore(to)) {
+            Event e = busy.next();
+            LocalDateTime start = e.getStartDateTimeAsLdt();
+            LocalDateTime end = e.getEndDateTimeAsLdt();
+            if (end == null || !end.isAfter(freeFrom)) continue;
+            if (start.isAfter(freeFrom)) {
+                addFreeSlots(slots, freeFrom, start, length, workingHours ? workStart : null, workEnd, count);
+            }
+            freeFrom = end;
+        }
+        if (slots.size() < count && freeFrom.isBefore(to)) {
+            addFreeSlots(slots, freeFrom, to, length, workingHours ? workStart : null, workEnd, count);
+        }
+        return slots;
+    }
+
+    // 把空闲区间 [a, b) 按工作时间切开，够长的加入结果
+    private static void addFreeSlots(List<FreeSlot> slots, LocalDateTime a, LocalDateTime b, Duration length,
+                                     LocalTime workStart, LocalTime workEnd, int count) {
+        if (workStart == null) {
+            if (!a.plus(length).isAfter(b)) slots.add(new FreeSlot(a, b));
+            return;
+        }
+        for (LocalDate day = a.toLocalDate(); !day.isAfter(b.toLocalDate()) && slots.size() < count; day = day.plusDays(1)) {
+            LocalDateTime s = max(a, day.atTime(workStart));
+            LocalDateTime e = min(b, day.atTime(workEnd));
+            if (!s.plus(length).isAfter(e)) slots.add(new FreeSlot(s, e));
+        }
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /** Type-ahead for the word being typed at the end of a title, with typo tolerance. */
+    public List<String> suggestTitleWords(String typed, int limit) {
+        String[] parts = (typed == null) ? new String[0] : typed.split("[^\\p{L}\\p{N}]+");
+        String last = (parts.length == 0 || typed.isEmpty() || !Character.isLetterOrDigit(typed.charAt(typed.length() - 1)))
+                      ? "" : parts[parts.length - 1];
+        if (last.isEmpty()) return new ArrayList<>();
+        return eventManager.completeTitleWord(last, allowedEdits(last), limit);
+    }
+
+    /** Type-ahead for locations, with typo tolerance. */
+    public List<String> suggestLocations(String typed, int limit) {
+        String p = (typed == null) ? "" : typed.trim();
+        if (p.isEmpty()) return new ArrayList<>();
+        return eventManager.completeLocation(p, allowedEdits(p), limit);
+    }
+
+    // short prefixes must match exactly, longer ones may contain one or two typos
+    private static int allowedEdits(String prefix) {
+        return prefix.length() < 3 ? 0 : prefix.length() < 7 ? 1 : 2;
+    }
+
+    private BitSet candidateSeries(EventQuery query) {
+        BitSet ids = null;
+        if (query.hasCategory() && query.hasLocation()) {
+            ids = eventManager.seriesBitsByCategoryAndLocation(query.getCategory(), query.getLocation());
+        } else if (query.hasCategory()) {
+            ids = eventManager.seriesBitsByCategory(query.getCategory());
+        } else if (query.hasLocation()) {
+            ids = eventManager.seriesBitsByLocation(query.getLocation());
+        }
+
+        if (query.hasKeyword()) {
+            if (ids != null && ids.cardinality() <= VERIFY_TITLE_LIMIT) {
+                String k = query.getKeyword().trim().toLowerCase();
+                for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                    Event base = eventManager.getBaseEvent(id);
+                    String t = (base == null || base.getTitle() == null) ? "" : base.getTitle().toLowerCase();
+                    if (!t.contains(k)) ids.clear(id);
+                }
+            } else {
+                BitSet byTitle = toBits(eventManager.findSeriesByTitle(query.getKeyword()));
+                if (ids == null) ids = byTitle;
+                else ids.and(byTitle);
+            }
+        }
+        return ids;
+    }
+
+    private static BitSet toBits(List<Integer> ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            if (id >= 0) bits.set(id);
+        }
+        return bits;
+    }
+
+    // 按开始时间遍历索引，只取候选系列的发生
+    private Iterator<Event> indexWalk(LocalDateTime from, LocalDateTime to, BitSet candidates) {
+        OccurrenceCursor cursor = eventManager.openCursor(from, to, candidates == null ? null : candidates::get);
+        return new Iterator<Event>() {
+            private Iterator<Event> page = Collections.emptyIterator();
+            private int pageSize = FIRST_PAGE_SIZE;
+
+            @Override
+            public boolean hasNext() {
+                while (!page.hasNext() && cursor.hasMore()) {
+                    page = cursor.nextPage(pageSize).iterator();
+                    pageSize = Math.min(MAX_PAGE_SIZE, pageSize * 2);
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public Event next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return page.next();
+            }
+        };
+    }
+
+    // 每个候选系列自己的发生序列是有序的，用堆做多路归并
+    private Iterator<Event> seriesMerge(BitSet candidates, LocalDateTime from, LocalDateTime to) {
+        List<SeriesHead> heads = new ArrayList<>();
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            Iterator<Event> occurrences = eventManager.iterateSeries(id, from, to);
+            if (occurrences.hasNext()) heads.add(new SeriesHead(occurrences));
+        }
+        PriorityQueue<SeriesHead> heap = new PriorityQueue<>(heads); // heapify, O(n)
+        return new Iterator<Event>() {
+            @Override
+            public boolean hasNext() {
+                return !heap.isEmpty();
+            }
+
+            @Override
+            public Event next() {
+                SeriesHead h = heap.poll();
+                if (h == null) throw new NoSuchElementException();
+                Event e = h.head;
+                if (h.advance()) heap.add(h);
+                return e;
+            }
+        };
+    }
+
+    private static final class SeriesHead implements Comparable<SeriesHead> {
+        private final Iterator<Event> rest;
+        private Event head;
+
+        SeriesHead(Iterator<Event> occurrences) {
+            this.rest = occurrences;
+            this.head = occurrences.next();
+        }
+
+        boolean advance() {
+            if (!rest.hasNext()) return false;
+            head = rest.next();
+            return true;
+        }
+
+        @Override
+        public int compareTo(SeriesHead o) {
+            int c = head.getStartDateTimeAsLdt().compareTo(o.head.getStartDateTimeAsLdt());
+            return c != 0 ? c : Integer.compare(head.getEventId(), o.head.getEventId());
+        }
+    }
+
+    private List<Event> expandSeries(List<Integer> seriesIds) {
+        return expandSeries(seriesIds, e -> true);
+    }
+
+    // 与 getAllEventsExpanded 原来的顺序一致：先是全部基础事件，再是各系列的重复副本
+    private List<Event> expandSeries(List<Integer> seriesIds, Predicate<Event> keep) {
+        List<Event> bases = new ArrayList<>();
+        List<Event> copies = new ArrayList<>();
+        for (int id : seriesIds) {
+            List<Event> occurrences = eventManager.getOccurrencesOfSeries(id, null, null);
+            for (int i = 0; i < occurrences.size(); i++) {
+                Event e = occurrences.get(i);
+                if (keep.test(e)) (i == 0 ? bases : copies).add(e);
+            }
         }
-        return res;
+        bases.addAll(copies);
+        return bases;
     }
 }
\ No newline at end of file
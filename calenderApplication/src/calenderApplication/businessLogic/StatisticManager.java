@@ -1,31 +1,35 @@
 package calenderApplication.businessLogic;
 
 import java.time.DayOfWeek;
-import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class StatisticManager {
     private final EventManager eventManager;
 
+    // below this many occurrences in the window a single scan beats splitting it up
+    private static final long PARALLEL_THRESHOLD = 100_000;
+    // a fork-join leaf covers at most this many days
+    private static final int LEAF_DAYS = 31;
+    private static final long SECONDS_PER_DAY = 24L * 60 * 60;
+
     public StatisticManager(EventManager eventManager) {
         this.eventManager = eventManager;
     }
 
+    // all four answers come from aggregates EventManager maintains on every change
     public DayOfWeek getBusiestDayInWeek() {
-        Map<DayOfWeek, Integer> cnt = new EnumMap<>(DayOfWeek.class);
-        for (DayOfWeek d : DayOfWeek.values()) cnt.put(d, 0);
-
-        for (Event e : eventManager.getAllEventsExpanded()) {
-            if (e.getStartDateTimeAsLdt() == null) continue;
-            DayOfWeek d = e.getStartDateTimeAsLdt().getDayOfWeek();
-            cnt.put(d, cnt.get(d) + 1);
-        }
+        long[] cnt = eventManager.getStatistics().getDayOfWeekCounts();
 
         DayOfWeek best = DayOfWeek.MONDAY;
-        int bestN = -1;
+        long bestN = -1;
         for (DayOfWeek d : DayOfWeek.values()) {
-            int n = cnt.get(d);
+            long n = cnt[d.getValue() - 1];
             if (n > bestN) { bestN = n; best = d; }
         }
         return best;
@@ -33,40 +37,90 @@ public class StatisticManager {
 
     public Map<String, Integer> getEventCategoryDistribution() {
         Map<String, Integer> map = new HashMap<>();
-        for (Event e : eventManager.getAllEventsExpanded()) {
-            String c = (e.getCategory() == null || e.getCategory().trim().isEmpty()) ? "Uncategorized" : e.getCategory().trim();
-            map.put(c, map.getOrDefault(c, 0) + 1);
-        }
+        eventManager.getStatistics().getCategoryCounts().forEach((c, n) -> map.put(c, (int) (long) n));
         return map;
     }
 
     public int getMonthlyEventCount(LocalDate month) {
         if (month == null) return 0;
-        int y = month.getYear();
-        int m = month.getMonthValue();
-
-        int count = 0;
-        for (Event e : eventManager.getAllEventsExpanded()) {
-            if (e.getStartDateTimeAsLdt() == null) continue;
-            if (e.getStartDateTimeAsLdt().getYear() == y && e.getStartDateTimeAsLdt().getMonthValue() == m) {
-                count++;
-            }
-        }
-        return count;
+        return (int) eventManager.getStatistics().getMonthCount(YearMonth.from(month));
     }
 
     public double getAverageEventDuration() {
-        long totalMinutes = 0;
-        int n = 0;
-
-        for (Event e : eventManager.getAllEventsExpanded()) {
-            if (e.getStartDateTimeAsLdt() == null || e.getEndDateTimeAsLdt() == null) continue;
-            long mins = Duration.between(e.getStartDateTimeAsLdt(), e.getEndDateTimeAsLdt()).toMinutes();
-            if (mins > 0) {
-                totalMinutes += mins;
-                n++;
-            }
+        return eventManager.getStatistics().getAverageDurationMinutes();
+    }
+
+    public StatisticsReport getYearlyReport(int year) {
+        return getReport(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    /**
+     * Statistics over the occurrences starting between the two dates (inclusive). Large windows
+     * are split into month-sized day ranges counted in parallel on the common ForkJoinPool, each
+     * into its own primitive accumulator; small ones are counted in one sequential scan.
+     */
+    public StatisticsReport getReport(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) return new StatisticsReport.Accumulator(LocalDate.now(), 0).finish().toReport();
+        int days = (int) (to.toEpochDay() - from.toEpochDay() + 1);
+
+        // the monthly aggregates give the window size for free
+        long estimate = eventManager.getStatistics().estimateCount(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        boolean parallel = estimate >= PARALLEL_THRESHOLD && days > LEAF_DAYS
+                           && ForkJoinPool.getCommonPoolParallelism() >= 2;
+        return report(from, days, parallel);
+    }
+
+    // package-private so the tests can count a small calendar both ways
+    StatisticsReport report(LocalDate from, int days, boolean parallel) {
+        if (!parallel) return countDays(from, days).toReport();
+        return ForkJoinPool.commonPool().invoke(new ReportTask(from, days)).toReport();
+    }
+
+    /**
+     * Sketch-based analytics (duration percentiles, distinct locations and attendees) over the
+     * occurrences starting between the two dates (inclusive); null bounds mean "all time".
+     * One pass over the series, counting each by how many of its occurrences fall in the window,
+     * so neither time nor memory grows with the number of recurrences.
+     */
+    public AnalyticsSketch getSketches(LocalDate from, LocalDate to) {
+        AnalyticsSketch sketch = new AnalyticsSketch();
+        if (from != null && to != null && to.isBefore(from)) return sketch;
+        eventManager.forEachSeriesCount(from == null ? null : from.atStartOfDay(),
+                                        to == null ? null : to.plusDays(1).atStartOfDay(), (base, n) -> {
+            LocalDateTime end = base.getEndDateTimeAsLdt();
+            long minutes = (end == null) ? 0 : ChronoUnit.MINUTES.between(base.getStartDateTimeAsLdt(), end);
+            sketch.add(base, minutes, n);
+        });
+        return sketch;
+    }
+
+    private class ReportTask extends RecursiveTask<StatisticsReport.Accumulator> {
+        private final LocalDate first;
+        private final int days;
+
+        ReportTask(LocalDate first, int days) {
+            this.first = first;
+            this.days = days;
+        }
+
+        @Override
+        protected StatisticsReport.Accumulator compute() {
+            if (days <= LEAF_DAYS) return countDays(first, days);
+            int half = days / 2;
+            ReportTask left = new ReportTask(first, half);
+            left.fork();
+            StatisticsReport.Accumulator right = new ReportTask(first.plusDays(half), days - half).compute();
+            return left.join().merge(right);
         }
-        return (n == 0) ? 0.0 : (double) totalMinutes / n;
     }
-}
\ No newline at end of file
+
+    private StatisticsReport.Accumulator countDays(LocalDate first, int days) {
+        StatisticsReport.Accumulator acc = new StatisticsReport.Accumulator(first, days);
+        eventManager.scanOccurrences(first.atStartOfDay(), first.plusDays(days).atStartOfDay(), (base, ref) -> {
+            LocalDateTime end = base.getEndDateTimeAsLdt();
+            long minutes = (end == null) ? 0 : ChronoUnit.MINUTES.between(base.getStartDateTimeAsLdt(), end);
+            acc.add(Math.floorDiv(ref.getStartSecond(), SECONDS_PER_DAY), EventStatistics.categoryKey(base.getCategory()), minutes);
+        });
+        return acc.finish();
+    }
+}
@@ -0,0 +1,121 @@
+package calenderApplication.businessLogic;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Statistics over the occurrences in one date window: counts per weekday, category and month,
+ * and the average positive duration. Built by StatisticManager from Accumulators that each cover
+ * a contiguous day range and count into primitive arrays; partial results are merged pairwise.
+ */
+public class StatisticsReport {
+    private final long[] dayOfWeekCounts;
+    private final Map<String, Long> categoryCounts;
+    private final Map<YearMonth, Long> monthCounts;
+    private final long durationMinutes;
+    private final long durationCount;
+
+    private StatisticsReport(Accumulator acc) {
+        this.dayOfWeekCounts = acc.dayOfWeek;
+        Map<String, Long> cats = new HashMap<>();
+        acc.categories.forEach((c, n) -> cats.put(c, n[0]));
+        this.categoryCounts = Collections.unmodifiableMap(cats);
+        this.monthCounts = Collections.unmodifiableMap(acc.months);
+        this.durationMinutes = acc.durationMinutes;
+        this.durationCount = acc.durationCount;
+    }
+
+    public long getDayOfWeekCount(DayOfWeek day) {
+        return dayOfWeekCounts[day.getValue() - 1];
+    }
+
+    /** The weekday with the most occurrences (Monday first on ties, as getBusiestDayInWeek). */
+    public DayOfWeek getBusiestDay() {
+        DayOfWeek best = DayOfWeek.MONDAY;
+        for (DayOfWeek d : DayOfWeek.values()) {
+            if (getDayOfWeekCount(d) > getDayOfWeekCount(best)) best = d;
+        }
+        return best;
+    }
+
+    public Map<String, Long> getCategoryCounts() { return categoryCounts; }
+
+    /** Occurrences per month, in month order. */
+    public Map<YearMonth, Long> getMonthCounts() { return monthCounts; }
+
+    public long getTotalCount() {
+        long n = 0;
+        for (long c : dayOfWeekCounts) n += c;
+        return n;
+    }
+
+    public double getAverageDurationMinutes() {
+        return (durationCount == 0) ? 0.0 : (double) durationMinutes / durationCount;
+    }
+
+    /** Counts for the days [firstDay, firstDay + days); not thread-safe, one per partition. */
+    static final class Accumulator {
+        private final long firstEpochDay;
+        private final long[] perDay;
+        private final Map<String, long[]> categories = new HashMap<>();
+        private long durationMinutes;
+        private long durationCount;
+        // filled in by finish()
+        private long[] dayOfWeek;
+        private Map<YearMonth, Long> months;
+
+        Accumulator(LocalDate firstDay, int days) {
+            this.firstEpochDay = firstDay.toEpochDay();
+            this.perDay = new long[Math.max(0, days)];
+        }
+
+        void add(long epochDay, String categoryKey, long minutes) {
+            perDay[(int) (epochDay - firstEpochDay)]++;
+            categories.computeIfAbsent(categoryKey, k -> new long[1])[0]++;
+            if (minutes > 0) {
+                durationMinutes += minutes;
+                durationCount++;
+            }
+        }
+
+        /** Fold the per-day counts into weekday and month counts. */
+        Accumulator finish() {
+            dayOfWeek = new long[7];
+            months = new TreeMap<>();
+            YearMonth month = null;
+            long monthCount = 0;
+            for (int i = 0; i < perDay.length; i++) {
+                LocalDate day = LocalDate.ofEpochDay(firstEpochDay + i);
+                YearMonth ym = YearMonth.from(day);
+                if (!ym.equals(month)) {
+                    if (monthCount > 0) months.put(month, monthCount);
+                    month = ym;
+                    monthCount = 0;
+                }
+                dayOfWeek[day.getDayOfWeek().getValue() - 1] += perDay[i];
+                monthCount += perDay[i];
+            }
+            if (monthCount > 0) months.put(month, monthCount);
+            return this;
+        }
+
+        /** Merge a finished accumulator into this finished one. */
+        Accumulator merge(Accumulator o) {
+            for (int i = 0; i < 7; i++) dayOfWeek[i] += o.dayOfWeek[i];
+            o.categories.forEach((c, n) -> categories.computeIfAbsent(c, k -> new long[1])[0] += n[0]);
+            o.months.forEach((m, n) -> months.merge(m, n, Long::sum));
+            durationMinutes += o.durationMinutes;
+            durationCount += o.durationCount;
+            return this;
+        }
+
+        StatisticsReport toReport() {
+            return new StatisticsReport(this);
+        }
+    }
+}
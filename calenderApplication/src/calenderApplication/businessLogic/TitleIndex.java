@@ -0,0 +1,159 @@
+package calenderApplication.businessLogic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index for case-insensitive substring search on base event titles.
+ *
+ * Every 1-, 2- and 3-character gram of the lowercased title maps to a sorted posting list of
+ * event IDs. A keyword of up to three characters is itself a gram, so its posting list is the
+ * exact answer. A longer keyword is narrowed to the IDs that contain all of its trigrams
+ * (intersecting from the shortest list) and only those titles are checked with contains().
+ * The results are the same as title.toLowerCase().contains(keyword) over every event.
+ *
+ * Not thread-safe; EventManager updates and queries it under its lock.
+ */
+public class TitleIndex {
+    private static final int MAX_GRAM = 3;
+
+    private final Map<Long, Postings> postingsByGram = new HashMap<>();
+    private final Map<Integer, String> normalizedTitles = new HashMap<>();
+    private final Postings allIds = new Postings();
+
+    public void clear() {
+        postingsByGram.clear();
+        normalizedTitles.clear();
+        allIds.clear();
+    }
+
+    /** Index (or re-index) the title of an event. */
+    public void put(int eventId, String title) {
+        String t = normalize(title);
+        String old = normalizedTitles.put(eventId, t);
+        if (t.equals(old)) return;
+        if (old != null) forEachGram(old, gram -> {
+            Postings p = postingsByGram.get(gram);
+            if (p != null && p.remove(eventId) && p.size == 0) postingsByGram.remove(gram);
+        });
+        forEachGram(t, gram -> postingsByGram.computeIfAbsent(gram, g -> new Postings()).add(eventId));
+        allIds.add(eventId);
+    }
+
+    public void remove(int eventId) {
+        String old = normalizedTitles.remove(eventId);
+        if (old == null) return;
+        forEachGram(old, gram -> {
+            Postings p = postingsByGram.get(gram);
+            if (p != null && p.remove(eventId) && p.size == 0) postingsByGram.remove(gram);
+        });
+        allIds.remove(eventId);
+    }
+
+    /** IDs (ascending) whose title contains the keyword, ignoring case; a blank keyword matches all. */
+    public List<Integer> search(String keyword) {
+        String k = normalize(keyword == null ? "" : keyword.trim());
+        if (k.isEmpty()) return allIds.toList();
+        if (k.length() <= MAX_GRAM) {
+            Postings p = postingsByGram.get(gramKey(k, 0, k.length()));
+            return p == null ? new ArrayList<>() : p.toList();
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + MAX_GRAM <= k.length(); i++) {
+            Postings p = postingsByGram.get(gramKey(k, i, MAX_GRAM));
+            if (p == null) return new ArrayList<>();
+            lists.add(p);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        List<Integer> res = new ArrayList<>();
+        Postings smallest = lists.get(0);
+        for (int i = 0; i < smallest.size; i++) {
+            int id = smallest.ids[i];
+            boolean inAll = true;
+            for (int j = 1; j < lists.size() && inAll; j++) inAll = lists.get(j).contains(id);
+            // trigrams can all be present without being adjacent, so confirm on the title itself
+            if (inAll && normalizedTitles.get(id).contains(k)) res.add(id);
+        }
+        return res;
+    }
+
+    // --- helpers ---
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase();
+    }
+
+    private interface GramConsumer {
+        void accept(long gram);
+    }
+
+    private static void forEachGram(String t, GramConsumer action) {
+        int len = t.length();
+        long[] grams = new long[MAX_GRAM * len];
+        int n = 0;
+        for (int size = 1; size <= MAX_GRAM; size++) {
+            for (int i = 0; i + size <= len; i++) grams[n++] = gramKey(t, i, size);
+        }
+        // a title repeating a gram must add the ID once
+        Arrays.sort(grams, 0, n);
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) action.accept(grams[i]);
+        }
+    }
+
+    // up to three UTF-16 chars packed into one long, with the gram length in the top bits
+    private static long gramKey(String s, int from, int n) {
+        long key = n;
+        for (int i = 0; i < n; i++) key = (key << 16) | s.charAt(from + i);
+        return key;
+    }
+
+    /** Sorted, duplicate-free int list. IDs are handed out increasing, so adds are mostly appends. */
+    private static final class Postings {
+        int[] ids = new int[2];
+        int size;
+
+        void clear() {
+            ids = new int[2];
+            size = 0;
+        }
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] < id) {
+                if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+                ids[size++] = id;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) return;
+            pos = -pos - 1;
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) return false;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        List<Integer> toList() {
+            List<Integer> res = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) res.add(ids[i]);
+            return res;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package calenderApplication.dataLayer;
+
+import calenderApplication.businessLogic.Event;
+import calenderApplication.businessLogic.RecurrentEvent;
+import calenderApplication.businessLogic.ReminderConfig;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Versioned binary image of all three tables (events, recurrence rules, reminder configs).
+ *
+ * Layout (big endian, DataOutputStream):
+ *   int magic "CALS", short version
+ *   source fingerprints: int n, n x (long length, long lastModified) of the CSV files it was built from
+ *   string table: int n, n x (int byteLength, UTF-8 bytes); fields refer to it by index, -1 = null
+ *   events:    int n, n x (int id, int title, int desc, long startMinute, long endMinute, int location, int category)
+ *   rules:     int n, n x (int eventId, int interval, int times, int endDate)
+ *   reminders: int n, n x (int eventId, long seconds, int nanos, boolean enable)
+ *   long CRC32 of everything before it
+ *
+ * Timestamps are UTC-agnostic epoch minutes of the LocalDateTime. A calendar with sub-minute
+ * timestamps cannot be represented, in which case no snapshot is written and the CSVs stay the
+ * only source.
+ */
+public class BinarySnapshot {
+    private static final int MAGIC = 0x43414C53; // "CALS"
+    private static final short VERSION = 1;
+
+    private final List<Event> events;
+    private final List<RecurrentEvent> rules;
+    private final List<ReminderConfig> reminders;
+
+    public BinarySnapshot(List<Event> events, List<RecurrentEvent> rules, List<ReminderConfig> reminders) {
+        this.events = events;
+        this.rules = rules;
+        this.reminders = reminders;
+    }
+
+    public List<Event> getEvents() { return events; }
+    public List<RecurrentEvent> getRules() { return rules; }
+    public List<ReminderConfig> getReminders() { return reminders; }
+
+    // --- fingerprints ---
+
+    /** length + lastModified of each source file; a missing file counts as (0, 0). */
+    public static long[] fingerprint(String... paths) {
+        long[] fp = new long[paths.length * 2];
+        for (int i = 0; i < paths.length; i++) {
+            File f = new File(paths[i]);
+            if (f.exists()) {
+                fp[2 * i] = f.length();
+                fp[2 * i + 1] = f.lastModified();
+            }
+        }
+        return fp;
+    }
+
+    // --- write ---
+
+    /** Write atomically (tmp file + rename). Returns false if the data cannot be represented. */
+    public boolean write(String path, long[] sourceFingerprint) {
+        for (Event e : events) {
+            if (!isMinuteAligned(e.getStartDateTimeAsLdt()) || !isMinuteAligned(e.getEndDateTimeAsLdt())) return false;
+        }
+
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            out.writeInt(events.size());
+            for (Event e : events) {
+                out.writeInt(e.getEventId());
+                out.writeInt(strings.indexOf(e.getTitle()));
+                out.writeInt(strings.indexOf(e.getDescription()));
+                out.writeLong(toMinute(e.getStartDateTimeAsLdt()));
+                out.writeLong(toMinute(e.getEndDateTimeAsLdt()));
+                out.writeInt(strings.indexOf(e.getLocation()));
+                out.writeInt(strings.indexOf(e.getCategory()));
+            }
+            out.writeInt(rules.size());
+            for (RecurrentEvent r : rules) {
+                out.writeInt(r.getEventId());
+                out.writeInt(strings.indexOf(r.getRecurrentInterval()));
+                out.writeInt(r.getRecurrentTimes());
+                out.writeInt(strings.indexOf(r.getRecurrentEndDate()));
+            }
+            out.writeInt(reminders.size());
+            for (ReminderConfig c : reminders) {
+                Duration d = c.getRemindDuration();
+                out.writeInt(c.getEventId());
+                out.writeLong(d.getSeconds());
+                out.writeInt(d.getNano());
+                out.writeBoolean(c.isEnable());
+            }
+        } catch (IOException e) {
+            return false;
+        }
+
+        Path target = Paths.get(path);
+        Path tmp = Paths.get(path + ".tmp");
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(new FileOutputStream(tmp.toFile()), crc)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(sourceFingerprint.length / 2);
+            for (long v : sourceFingerprint) out.writeLong(v);
+            strings.writeTo(out);
+            body.writeTo(out);
+            out.flush();
+            // the checksum itself is not part of the checksummed range
+            out.writeLong(crc.getValue());
+        } catch (IOException e) {
+            System.err.println("Snapshot write failed: " + e.getMessage());
+            return false;
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Snapshot write failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // --- read ---
+
+    /**
+     * Read the snapshot, or return null if it is missing, corrupt, of another version or was
+     * built from CSV files that have changed since (fingerprint mismatch).
+     */
+    public static BinarySnapshot read(String path, long[] expectedFingerprint) {
+        Path p = Paths.get(path);
+        if (!Files.exists(p)) return null;
+        try {
+            byte[] data = Files.readAllBytes(p);
+            if (data.length < 8) return null;
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, data.length - 8);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            in.skipBytes(data.length - 8);
+            if (in.readLong() != crc.getValue()) return null;
+
+            in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 8));
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) return null;
+            int fpCount = in.readInt();
+            if (fpCount * 2 != expectedFingerprint.length) return null;
+            for (long expected : expectedFingerprint) {
+                if (in.readLong() != expected) return null;
+            }
+
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] b = new byte[in.readInt()];
+                in.readFully(b);
+                strings[i] = new String(b, StandardCharsets.UTF_8);
+            }
+
+            int n = in.readInt();
+            List<Event> events = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                Event e = new Event();
+                e.setEventId(in.readInt());
+                e.setTitle(str(strings, in.readInt()));
+                e.setDescription(str(strings, in.readInt()));
+                e.setStartDateTime(fromMinute(in.readLong()));
+                e.setEndDateTime(fromMinute(in.readLong()));
+                e.setLocation(str(strings, in.readInt()));
+                e.setCategory(str(strings, in.readInt()));
+                events.add(e);
+            }
+            n = in.readInt();
+            List<RecurrentEvent> rules = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                RecurrentEvent r = new RecurrentEvent(in.readInt(), str(strings, in.readInt()), in.readInt(), str(strings, in.readInt()));
+                r.setEnabled(true);
+                rules.add(r);
+            }
+            n = in.readInt();
+            List<ReminderConfig> reminders = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int id = in.readInt();
+                Duration d = Duration.ofSeconds(in.readLong(), in.readInt());
+                reminders.add(new ReminderConfig(id, d, in.readBoolean()));
+            }
+            return new BinarySnapshot(events, rules, reminders);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Snapshot unreadable, falling back to CSV: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // --- helpers ---
+
+    private static boolean isMinuteAligned(LocalDateTime t) {
+        return t == null || (t.getSecond() == 0 && t.getNano() == 0);
+    }
+
+    private static long toMinute(LocalDateTime t) {
+        return t == null ? Long.MIN_VALUE : t.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime fromMinute(long m) {
+        return m == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(m * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static String str(String[] strings, int idx) {
+        return idx < 0 ? null : strings[idx];
+    }
+
+    /** Deduplicating string table: every distinct value is stored once. */
+    private static class StringTable {
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int indexOf(String s) {
+            if (s == null) return -1;
+            Integer i = index.get(s);
+            if (i == null) {
+                i = values.size();
+                index.put(s, i);
+                values.add(s);
+            }
+            return i;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(values.size());
+            for (String s : values) {
+                byte[] b = s.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(b.length);
+                out.write(b);
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package calenderApplication.dataLayer;
+
+import calenderApplication.businessLogic.Event;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fast loader for event.csv (ID|Title|Description|StartTime|EndTime|Location|Category).
+ *
+ * The file is read in large blocks, and each block is cut into line-aligned chunks that are
+ * parsed in parallel on the common ForkJoinPool. Each chunk is tokenized by hand on the raw bytes
+ * (no regex, no per-line String for the whole line), IDs are parsed straight from the bytes and
+ * timestamps go through a fixed-position ISO parser, falling back to LocalDateTime.parse for
+ * anything unusual.
+ * Results keep file order, so "last line wins" logic on top of it still works.
+ *
+ * The blocks are plain heap arrays, not a memory mapping: the legacy update/delete and the journal
+ * compaction rewrite or replace this file right after reading it, and on Windows a file cannot be
+ * truncated or replaced while a mapping of it is still alive (it is only released by GC).
+ */
+public class EventCsvLoader {
+    static final int MIN_CHUNK_BYTES = 1 << 20;
+    // bigger files are read and parsed one block at a time
+    private static final int BLOCK_BYTES = 1 << 26;
+    private static final int FIELD_COUNT = 7;
+
+    private EventCsvLoader() {}
+
+    /** Read every well-formed event line of the file; a missing file gives an empty list. */
+    public static List<Event> load(String path) throws IOException {
+        return load(path, BLOCK_BYTES);
+    }
+
+    // the block size is a parameter so the tests can cut small files into many blocks
+    static List<Event> load(String path, int blockBytes) throws IOException {
+        Path p = Paths.get(path);
+        if (!Files.exists(p)) return new ArrayList<>();
+
+        Charset cs = Charset.defaultCharset();
+        // the byte tokenizer relies on '|' and '\n' being single bytes that never occur inside a character
+        boolean asciiCompatible = cs.equals(StandardCharsets.UTF_8) || cs.equals(StandardCharsets.US_ASCII)
+                                  || cs.equals(StandardCharsets.ISO_8859_1);
+        if (!asciiCompatible) return loadWithScanner(p, cs);
+
+        List<Event> result = new ArrayList<>();
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+            byte[] block = new byte[(int) Math.max(1, Math.min(blockBytes, ch.size()))];
+            int filled = 0;
+            while (true) {
+                int n = 0;
+                while (filled < block.length && (n = ch.read(ByteBuffer.wrap(block, filled, block.length - filled))) >= 0) {
+                    filled += n;
+                }
+                if (n < 0) {
+                    result.addAll(parseRegion(block, filled, cs));
+                    return result;
+                }
+                // parse the complete lines, keep the cut-off last line for the next block
+                int end = filled;
+                while (end > 0 && block[end - 1] != '\n') end--;
+                if (end == 0) {
+                    block = Arrays.copyOf(block, block.length * 2); // one line longer than the block
+                    continue;
+                }
+                result.addAll(parseRegion(block, end, cs));
+                System.arraycopy(block, end, block, 0, filled - end);
+                filled -= end;
+            }
+        }
+    }
+
+    private static List<Event> parseRegion(byte[] buf, int limit, Charset cs) {
+        if (limit == 0) return new ArrayList<>();
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int chunk = Math.max(MIN_CHUNK_BYTES, limit / Math.max(1, parallelism * 4));
+        List<int[]> ranges = new ArrayList<>();
+        int start = 0;
+        while (start < limit) {
+            int end = Math.min(limit, start + chunk);
+            while (end < limit && buf[end - 1] != '\n') end++;
+            ranges.add(new int[]{start, end});
+            start = end;
+        }
+        if (ranges.size() == 1) return new ChunkParser(buf, 0, limit, cs).parse();
+        return ForkJoinPool.commonPool().invoke(new ChunkTask(buf, ranges, 0, ranges.size(), cs));
+    }
+
+    private static class ChunkTask extends RecursiveTask<List<Event>> {
+        private final byte[] buf;
+        private final List<int[]> ranges;
+        private final int from, to;
+        private final Charset cs;
+
+        ChunkTask(byte[] buf, List<int[]> ranges, int from, int to, Charset cs) {
+            this.buf = buf;
+            this.ranges = ranges;
+            this.from = from;
+            this.to = to;
+            this.cs = cs;
+        }
+
+        @Override
+        protected List<Event> compute() {
+            if (to - from == 1) {
+                int[] r = ranges.get(from);
+                return new ChunkParser(buf, r[0], r[1], cs).parse();
+            }
+            int mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(buf, ranges, from, mid, cs);
+            left.fork();
+            List<Event> right = new ChunkTask(buf, ranges, mid, to, cs).compute();
+            List<Event> res = left.join();
+            res.addAll(right);
+            return res;
+        }
+    }
+
+    /** Parses one line-aligned chunk; owns a reusable line buffer so only field Strings are allocated. */
+    private static class ChunkParser {
+        private final byte[] buf;
+        private final int start, end;
+        private final Charset cs;
+        private byte[] line = new byte[256];
+        private final int[] fieldStart = new int[FIELD_COUNT + 1];
+        private final int[] fieldEnd = new int[FIELD_COUNT + 1];
+
+        ChunkParser(byte[] buf, int start, int end, Charset cs) {
+            this.buf = buf;
+            this.start = start;
+            this.end = end;
+            this.cs = cs;
+        }
+
+        List<Event> parse() {
+            List<Event> out = new ArrayList<>();
+            int skipped = 0;
+            int pos = start;
+            while (pos < end) {
+                int len = 0;
+                while (pos < end) {
+                    byte b = buf[pos++];
+                    if (b == '\n') break;
+                    if (len == line.length) line = Arrays.copyOf(line, len * 2);
+                    line[len++] = b;
+                }
+                int s = 0, e = len;
+                // same as String.trim(): drop control chars / spaces (including '\r') at both ends
+                while (s < e && (line[s] & 0xFF) <= ' ') s++;
+                while (e > s && (line[e - 1] & 0xFF) <= ' ') e--;
+                if (s == e) continue;
+                try {
+                    Event ev = parseLine(s, e);
+                    if (ev != null) out.add(ev);
+                } catch (RuntimeException ex) {
+                    skipped++;
+                }
+            }
+            if (skipped > 0) System.err.println("Error reading events: skipped " + skipped + " malformed line(s)");
+            return out;
+        }
+
+        private Event parseLine(int s, int e) {
+            int n = 0;
+            int fs = s;
+            for (int i = s; i <= e && n <= FIELD_COUNT; i++) {
+                if (i == e || line[i] == '|') {
+                    fieldStart[n] = fs;
+                    fieldEnd[n] = i;
+                    n++;
+                    fs = i + 1;
+                }
+            }
+            // String.split drops trailing empty fields, so "...|Location|" never counted as 7 fields
+            boolean moreContent = false;
+            for (int i = fs; i < e && !moreContent; i++) moreContent = line[i] != '|';
+            while (!moreContent && n > 0 && fieldStart[n - 1] == fieldEnd[n - 1]) n--;
+            if (n < FIELD_COUNT) return null;
+
+            Event ev = new Event();
+            ev.setEventId(parseInt(fieldStart[0], fieldEnd[0]));
+            ev.setTitle(str(1));
+            ev.setDescription(str(2));
+            ev.setStartDateTime(parseIsoDateTime(fieldStart[3], fieldEnd[3]));
+            ev.setEndDateTime(parseIsoDateTime(fieldStart[4], fieldEnd[4]));
+            ev.setLocation(str(5));
+            ev.setCategory(str(6));
+            return ev;
+        }
+
+        private String str(int field) {
+            return new String(line, fieldStart[field], fieldEnd[field] - fieldStart[field], cs);
+        }
+
+        private int parseInt(int s, int e) {
+            boolean neg = s < e && line[s] == '-';
+            int i = neg ? s + 1 : s;
+            if (i == e) throw new NumberFormatException("empty id");
+            long v = 0;
+            for (; i < e; i++) {
+                int d = line[i] - '0';
+                if (d < 0 || d > 9) throw new NumberFormatException("bad id");
+                v = v * 10 + d;
+                if (v > Integer.MAX_VALUE + 1L) throw new NumberFormatException("id overflow");
+            }
+            v = neg ? -v : v;
+            if (v > Integer.MAX_VALUE) throw new NumberFormatException("id overflow");
+            return (int) v;
+        }
+
+        /** yyyy-MM-ddTHH:mm[:ss[.fraction]] as written by LocalDateTime.toString(). */
+        private LocalDateTime parseIsoDateTime(int s, int e) {
+            int len = e - s;
+            if (len >= 16 && line[s + 4] == '-' && line[s + 7] == '-' && line[s + 10] == 'T' && line[s + 13] == ':') {
+                int year = digits(s, 4), month = digits(s + 5, 2), day = digits(s + 8, 2);
+                int hour = digits(s + 11, 2), minute = digits(s + 14, 2);
+                int second = 0, nano = 0;
+                boolean ok = year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0;
+                if (ok && len > 16) {
+                    ok = len >= 19 && line[s + 16] == ':' && (second = digits(s + 17, 2)) >= 0;
+                    if (ok && len > 19) {
+                        int fracLen = len - 20;
+                        ok = line[s + 19] == '.' && fracLen >= 1 && fracLen <= 9 && (nano = digits(s + 20, fracLen)) >= 0;
+                        for (int i = fracLen; ok && i < 9; i++) nano *= 10;
+                    }
+                }
+                if (ok) return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+            }
+            // unusual shapes (e.g. 5-digit years) go through the JDK parser
+            return LocalDateTime.parse(new String(line, s, len, StandardCharsets.US_ASCII));
+        }
+
+        private int digits(int from, int count) {
+            int v = 0;
+            for (int i = from; i < from + count; i++) {
+                int d = line[i] - '0';
+                if (d < 0 || d > 9) return -1;
+                v = v * 10 + d;
+            }
+            return v;
+        }
+    }
+
+    // --- fallback for charsets where '|' / '\n' are not plain single bytes ---
+
+    // package-private so the tests can compare it with the byte path
+    static List<Event> loadWithScanner(Path p, Charset cs) throws IOException {
+        List<Event> list = new ArrayList<>();
+        try (Scanner s = new Scanner(p, cs.name())) {
+            while (s.hasNextLine()) {
+                String line = s.nextLine().trim();
+                if (line.isEmpty()) continue;
+                String[] f = line.split("\\|");
+                if (f.length < FIELD_COUNT) continue;
+                try {
+                    Event ev = new Event();
+                    ev.setEventId(Integer.parseInt(f[0]));
+                    ev.setTitle(f[1]);
+                    ev.setDescription(f[2]);
+                    ev.setStartDateTime(LocalDateTime.parse(f[3]));
+                    ev.setEndDateTime(LocalDateTime.parse(f[4]));
+                    ev.setLocation(f[5]);
+                    ev.setCategory(f[6]);
+                    list.add(ev);
+                } catch (RuntimeException ex) {
+                    System.err.println("Error reading events: " + ex.getMessage());
+                }
+            }
+        }
+        return list;
+    }
+}
@@ -5,38 +5,103 @@
 package calenderApplication.dataLayer;
 
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 /**
  * @author 星飞
+ *
+ * Hands out event IDs from an AtomicInteger. IDs are reserved in blocks of BLOCK_SIZE and the
+ * end of the reserved block (the high-water mark) is persisted in the small sidecar file
+ * "event.id" before any ID of the block is returned, so startup only reads one number and a
+ * crash can at most skip the rest of a block, never reuse an ID. Within a block generation is
+ * lock-free; only crossing into the next block takes the lock and writes the sidecar.
+ *
+ * Without a sidecar (first run after an upgrade) the highest ID is found once by scanning
+ * event.csv and the journal logs.
  */
 public class EventIdGenerator {
-    private static int maxId = 0;
-    private static boolean idLoaded = false;
-    
+    private static final String HWM_PATH = "event.id";
+    private static final int BLOCK_SIZE = 64;
+
+    private static final AtomicInteger lastId = new AtomicInteger();
+    private static volatile int reservedUpTo = 0;
+    private static volatile boolean idLoaded = false;
+
     public static int generateNextEventId() {
-        if (idLoaded) {
-            maxId++;
-            return maxId;
+        if (!idLoaded) load();
+        int id = lastId.incrementAndGet();
+        if (id > reservedUpTo) reserveThrough(id);
+        return id;
+    }
+
+    private static synchronized void load() {
+        if (idLoaded) return;
+        Integer hwm = readHighWaterMark();
+        int start = (hwm != null) ? hwm : scanMaxId();
+        lastId.set(start);
+        reservedUpTo = start;
+        idLoaded = true;
+    }
+
+    private static synchronized void reserveThrough(int id) {
+        int target = reservedUpTo;
+        while (target < id) target += BLOCK_SIZE;
+        if (target == reservedUpTo) return; // another thread already reserved it
+        writeHighWaterMark(target);
+        reservedUpTo = target;
+    }
+
+    private static Integer readHighWaterMark() {
+        Path p = Paths.get(HWM_PATH);
+        if (!Files.exists(p)) return null;
+        try {
+            return Integer.parseInt(new String(Files.readAllBytes(p), StandardCharsets.US_ASCII).trim());
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Unreadable " + HWM_PATH + ", rescanning events: " + e.getMessage());
+            return null;
         }
+    }
 
-        int count = 0;
+    private static void writeHighWaterMark(int hwm) {
+        Path p = Paths.get(HWM_PATH);
+        Path tmp = Paths.get(HWM_PATH + ".tmp");
         try {
-            File f = new File("event.csv");
-            if (!f.exists()) {
-                maxId = 0;
-                idLoaded = true;
-                return 1;
+            Files.write(tmp, String.valueOf(hwm).getBytes(StandardCharsets.US_ASCII));
+            Files.move(tmp, p, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // IDs stay unique within this run; the next start falls back to scanning
+            System.err.println("IO Error on " + HWM_PATH + ": " + e.getMessage());
+            try {
+                Files.deleteIfExists(p);
+            } catch (IOException ignored) {
             }
+        }
+    }
 
+    /** One-time migration: highest ID in event.csv and the journal logs. */
+    private static int scanMaxId() {
+        // event.csv is the snapshot; in journal mode newer IDs may only exist in the logs ("C|id|...")
+        int count = 0;
+        for (String path : new String[]{"event.csv", "event.log.old", "event.log"}) {
+            File f = new File(path);
+            if (!f.exists()) continue;
+            boolean isLog = path.contains(".log");
             try (Scanner s = new Scanner(f)) {
                 while (s.hasNextLine()) {
                     String line = s.nextLine();
                     String[] eventParts = line.split("\\|");
-                    if (eventParts.length > 0) {
+                    int idx = isLog ? 1 : 0;
+                    if (eventParts.length > idx) {
                         try {
-                            int currentId = Integer.parseInt(eventParts[0]);
+                            int currentId = Integer.parseInt(eventParts[idx].trim());
                             if (currentId > count) {
                                 count = currentId;
                             }
@@ -44,14 +109,9 @@ public class EventIdGenerator {
                         }
                     }
                 }
+            } catch (FileNotFoundException e) {
             }
-        } catch (FileNotFoundException e) {
-            return 1;
         }
-
-        maxId = count;
-        idLoaded = true;
-        maxId++;
-        return maxId;
+        return count;
     }
 }
@@ -9,71 +9,237 @@ import calenderApplication.businessLogic.RecurrentEvent;
 import calenderApplication.businessLogic.ReminderConfig;
 import java.io.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
  * @author 星飞
+ *
+ * Two storage modes:
+ *  - legacy (default): every update/delete rewrites the whole CSV file.
+ *  - journal: the CSV files are snapshots and every mutation is appended to a
+ *    "*.log" next to them (see JournalFile). Reads replay the log on top of the
+ *    snapshot, and a background thread folds the log into a new snapshot once it
+ *    passes COMPACT_THRESHOLD_BYTES.
+ *
+ * The application itself runs in journal mode (AppInitializer), so between compactions the CSV
+ * files are not authoritative: tools reading them directly miss what is still in the logs.
  */
 public class FileIOManager {
-    private final String eventPath = "event.csv";
-    private final String recurrentPath = "recurrent.csv";
-    private final String reminderPath = "reminder.csv";
+    private static final long COMPACT_THRESHOLD_BYTES = 1024 * 1024;
+    // legacy reminder.csv is append-only (last line wins); rewrite it once half of it is stale
+    private static final double STALE_RATIO_THRESHOLD = 0.5;
+    private static final int MIN_STALE_LINES = 64;
+
+    private final String eventPath;
+    private final String recurrentPath;
+    private final String reminderPath;
+    private final String binarySnapshotPath;
+
+    private final boolean journalMode;
+    private final JournalFile eventJournal;
+    private final JournalFile recurrentJournal;
+    private final JournalFile reminderJournal;
+    private final ExecutorService compactor;
+
+    // legacy mode bookkeeping for reminder.csv: lines in the file and distinct IDs among them
+    private int reminderLineCount = -1;
+    private final Set<Integer> reminderIds = new HashSet<>();
+
+    public FileIOManager() {
+        this(false);
+    }
+
+    public FileIOManager(boolean journalMode) {
+        this(journalMode, "");
+    }
+
+    // dir: folder of the data files, "" = the working directory (the tests use a temp folder)
+    FileIOManager(boolean journalMode, String dir) {
+        this.journalMode = journalMode;
+        this.eventPath = Paths.get(dir, "event.csv").toString();
+        this.recurrentPath = Paths.get(dir, "recurrent.csv").toString();
+        this.reminderPath = Paths.get(dir, "reminder.csv").toString();
+        this.binarySnapshotPath = Paths.get(dir, "calendar.snap").toString();
+        this.compactor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "journal-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+        this.eventJournal = new JournalFile(eventPath, Paths.get(dir, "event.log").toString(),
+                                            COMPACT_THRESHOLD_BYTES, compactor);
+        this.recurrentJournal = new JournalFile(recurrentPath, Paths.get(dir, "recurrent.log").toString(),
+                                                COMPACT_THRESHOLD_BYTES, compactor);
+        this.reminderJournal = new JournalFile(reminderPath, Paths.get(dir, "reminder.log").toString(),
+                                               COMPACT_THRESHOLD_BYTES, compactor);
+
+        if (!journalMode) {
+            // legacy mode only reads the CSV files, so fold anything a journal run left behind
+            eventJournal.compactNow();
+            recurrentJournal.compactNow();
+            reminderJournal.compactNow();
+        }
+    }
+
+    public boolean isJournalMode() { return journalMode; }
+
+    /**
+     * Startup load of all three tables. Uses calendar.snap while it still matches the CSV files it
+     * was built from; otherwise the CSVs are parsed (fallback / migration) and calendar.snap is
+     * rewritten for the next start. In journal mode the pending logs are replayed on top of the
+     * binary data, which is safe even if they are already contained in it (records are full
+     * upserts/deletes); only the log lines themselves count towards compaction.
+     */
+    public synchronized BinarySnapshot loadSnapshot() {
+        BinarySnapshot snap = BinarySnapshot.read(binarySnapshotPath,
+                BinarySnapshot.fingerprint(eventPath, recurrentPath, reminderPath));
+        if (snap == null) {
+            Map<Integer, ReminderConfig> reminders = new LinkedHashMap<>();
+            for (ReminderConfig c : readAllReminderConfigs()) reminders.put(c.getEventId(), c); // last one wins
+            snap = new BinarySnapshot(readAllEventsFromCsv(), readAllRecurrentEventsFromCsv(),
+                                      new ArrayList<>(reminders.values()));
+            // fingerprint taken after reading: reading may have rewritten reminder.csv
+            snap.write(binarySnapshotPath, BinarySnapshot.fingerprint(eventPath, recurrentPath, reminderPath));
+            return snap;
+        }
+        if (!journalMode) {
+            // the snapshot holds one config per ID; the line count has to come from the file
+            reminderIds.clear();
+            snap.getReminders().forEach(rc -> reminderIds.add(rc.getEventId()));
+            reminderLineCount = countLines(reminderPath);
+            if (isReminderFileStale()) compactor.submit(this::compactReminderFile);
+            return snap;
+        }
+
+        List<Event> events = new ArrayList<>(replayOnto(eventJournal, snap.getEvents(), Event::getEventId,
+                                                        this::parseEventLineQuietly).values());
+        List<RecurrentEvent> rules = new ArrayList<>(replayOnto(recurrentJournal, snap.getRules(), RecurrentEvent::getEventId,
+                                                                line -> quietly(line, this::parseRecurrentLine)).values());
+        List<ReminderConfig> reminders = new ArrayList<>(replayOnto(reminderJournal, snap.getReminders(), ReminderConfig::getEventId,
+                                                                    line -> quietly(line, this::parseReminderLine)).values());
+        return new BinarySnapshot(events, rules, reminders);
+    }
+
+    private <V> Map<Integer, V> replayOnto(JournalFile journal, List<V> base, Function<V, Integer> idOf,
+                                           Function<String, V> parse) {
+        return journal.replayOnto(base, idOf, parse);
+    }
+
+    private static int countLines(String path) {
+        File f = new File(path);
+        if (!f.exists()) return 0;
+        int n = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (!line.trim().isEmpty()) n++;
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading reminders: " + e.getMessage());
+        }
+        return n;
+    }
+
+    private <V> V quietly(String line, Function<String, V> parse) {
+        try {
+            return parse.apply(line);
+        } catch (RuntimeException e) {
+            System.err.println("Error reading journal record: " + e.getMessage());
+            return null;
+        }
+    }
 
     //Event
     public synchronized void writeEventToCsv(Event event) {
         //  ID|Title|Description|StartTime|EndTime|Location|Category
-        String line = event.getEventId() + "|" + 
-                      event.getTitle() + "|" + 
-                      event.getDescription() + "|" + 
-                      event.getStartDateTime() + "|" + 
-                      event.getEndDateTime() + "|" + 
-                      event.getLocation() + "|" + 
-                      event.getCategory();
+        String line = eventToCsvLine(event);
+        if (journalMode) {
+            eventJournal.appendUpsert(JournalFile.OP_CREATE, line);
+            return;
+        }
         writeLineToFile(eventPath, line);
     }
 
     public List<Event> readAllEventsFromCsv() {
         List<Event> list = new ArrayList<>();
-        File f = new File(eventPath);
-        if (!f.exists()) return list;
+        if (journalMode) {
+            // snapshot through the parallel loader, then the (small) log replayed line by line
+            Map<Integer, Event> byId = eventJournal.load(this::loadEventSnapshot, Event::getEventId,
+                                                         this::parseEventLineQuietly);
+            list.addAll(byId.values());
+            return list;
+        }
+        return loadEventSnapshot(eventPath);
+    }
 
-        try (Scanner s = new Scanner(f)) {
-            while (s.hasNextLine()) {
-                String line = s.nextLine().trim();
-                if (line.isEmpty()) continue;
-                String[] p = line.split("\\|");
-                if (p.length >= 7) {
-                    Event ev = new Event();
-                    ev.setEventId(Integer.parseInt(p[0]));
-                    ev.setTitle(p[1]);
-                    ev.setDescription(p[2]);
-                    ev.setStartDateTime(LocalDateTime.parse(p[3]));
-                    ev.setEndDateTime(LocalDateTime.parse(p[4]));
-                    ev.setLocation(p[5]);
-                    ev.setCategory(p[6]);
-                    list.add(ev);
-                }
-            }
-        } catch (Exception e) {
+    private List<Event> loadEventSnapshot(String path) {
+        try {
+            return EventCsvLoader.load(path);
+        } catch (IOException | RuntimeException e) {
             System.err.println("Error reading events: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private Event parseEventLineQuietly(String line) {
+        try {
+            return parseEventLine(line);
+        } catch (RuntimeException e) {
+            System.err.println("Error reading events: " + e.getMessage());
+            return null;
         }
-        return list;
+    }
+
+    private Event parseEventLine(String line) {
+        String[] p = line.split("\\|");
+        if (p.length < 7) return null;
+        Event ev = new Event();
+        ev.setEventId(Integer.parseInt(p[0]));
+        ev.setTitle(p[1]);
+        ev.setDescription(p[2]);
+        ev.setStartDateTime(LocalDateTime.parse(p[3]));
+        ev.setEndDateTime(LocalDateTime.parse(p[4]));
+        ev.setLocation(p[5]);
+        ev.setCategory(p[6]);
+        return ev;
     }
 
     //      RecurrentEvent
     public synchronized void writeRecurrentEventToCsv(RecurrentEvent rc) {
-        String line = rc.getEventId() + "|" + 
-                      rc.getRecurrentInterval() + "|" + 
-                      rc.getRecurrentTimes() + "|" + 
-                      rc.getRecurrentEndDate();
+        String line = recurrentToCsvLine(rc);
+        if (journalMode) {
+            recurrentJournal.appendUpsert(JournalFile.OP_CREATE, line);
+            return;
+        }
         writeLineToFile(recurrentPath, line);
     }
 
     public List<RecurrentEvent> readAllRecurrentEventsFromCsv() {
         List<RecurrentEvent> list = new ArrayList<>();
+        if (journalMode) {
+            for (String line : recurrentJournal.readRecords()) {
+                try {
+                    RecurrentEvent rc = parseRecurrentLine(line);
+                    if (rc != null) list.add(rc);
+                } catch (Exception e) {
+                    System.err.println("Error reading recurrences: " + e.getMessage());
+                }
+            }
+            return list;
+        }
+
         File f = new File(recurrentPath);
         if (!f.exists()) return list;
 
@@ -81,12 +247,8 @@ public class FileIOManager {
             while (s.hasNextLine()) {
                 String line = s.nextLine().trim();
                 if (line.isEmpty()) continue;
-                String[] p = line.split("\\|");
-                if (p.length >= 4) {
-                    list.add(new RecurrentEvent(
-                        Integer.parseInt(p[0]), p[1], Integer.parseInt(p[2]), p[3]
-                    ));
-                }
+                RecurrentEvent rc = parseRecurrentLine(line);
+                if (rc != null) list.add(rc);
             }
         } catch (Exception e) {
             System.err.println("Error reading recurrences: " + e.getMessage());
@@ -94,38 +256,118 @@ public class FileIOManager {
         return list;
     }
 
+    private RecurrentEvent parseRecurrentLine(String line) {
+        String[] p = line.split("\\|");
+        if (p.length < 4) return null;
+        RecurrentEvent rc = new RecurrentEvent(
+            Integer.parseInt(p[0]), p[1], Integer.parseInt(p[2]), p[3]
+        );
+        // only enabled rules are ever written, so a stored rule is an active one
+        rc.setEnabled(true);
+        return rc;
+    }
+
     //      ReminderConfig
     public synchronized void writeReminderConfigToFile(ReminderConfig rm) {
-        String line = rm.getEventId() + "|" + 
-                      rm.getRemindDuration() + "|" + 
-                      rm.isEnable();
+        String line = reminderToCsvLine(rm);
+        if (journalMode) {
+            reminderJournal.appendUpsert(JournalFile.OP_UPDATE, line);
+            return;
+        }
         writeLineToFile(reminderPath, line);
+        if (reminderLineCount >= 0) {
+            reminderLineCount++;
+            reminderIds.add(rm.getEventId());
+            if (isReminderFileStale()) compactor.submit(this::compactReminderFile);
+        }
     }
 
-public List<ReminderConfig> readAllReminderConfigs() {
+public synchronized List<ReminderConfig> readAllReminderConfigs() {
         List<ReminderConfig> list = new ArrayList<>();
+        if (journalMode) {
+            for (String line : reminderJournal.readRecords()) {
+                try {
+                    ReminderConfig rc = parseReminderLine(line);
+                    if (rc != null) list.add(rc);
+                } catch (Exception e) {
+                    System.err.println("Error reading reminders: " + e.getMessage());
+                }
+            }
+            return list;
+        }
+
         File f = new File(reminderPath);
-        if (!f.exists()) return list;
+        if (!f.exists()) {
+            reminderIds.clear();
+            reminderLineCount = 0;
+            return list;
+        }
 
         try (Scanner s = new Scanner(f)) {
             while (s.hasNextLine()) {
                 String line = s.nextLine().trim();
                 if (line.isEmpty()) continue;
-                String[] p = line.split("\\|");
-                if (p.length >= 3) {
-                    list.add(new ReminderConfig(
-                        Integer.parseInt(p[0]), 
-                        Duration.parse(p[1]), 
-                        Boolean.parseBoolean(p[2])
-                    ));
-                }
+                ReminderConfig rc = parseReminderLine(line);
+                if (rc != null) list.add(rc);
             }
         } catch (Exception e) {
             System.err.println("Error reading reminders: " + e.getMessage());
         }
+
+        reminderIds.clear();
+        list.forEach(rc -> reminderIds.add(rc.getEventId()));
+        reminderLineCount = list.size();
+        if (isReminderFileStale()) {
+            // startup: we already hold every line, so rewrite right here
+            rewriteReminderFile(list);
+        }
         return list;
     }
 
+    private boolean isReminderFileStale() {
+        int stale = reminderLineCount - reminderIds.size();
+        return stale >= MIN_STALE_LINES && stale >= STALE_RATIO_THRESHOLD * reminderLineCount;
+    }
+
+    /** Background compaction of legacy reminder.csv; holds the manager lock, so reads never see a half-written file. */
+    private synchronized void compactReminderFile() {
+        if (!isReminderFileStale()) return;
+        readAllReminderConfigs(); // rewrites when still stale
+    }
+
+    /** Keep only the last line per event ID; written to a temp file and renamed into place. */
+    private void rewriteReminderFile(List<ReminderConfig> lines) {
+        Map<Integer, ReminderConfig> latest = new LinkedHashMap<>();
+        for (ReminderConfig rc : lines) {
+            latest.remove(rc.getEventId()); // keep the position of the winning line
+            latest.put(rc.getEventId(), rc);
+        }
+        File tmp = new File(reminderPath + ".tmp");
+        try (PrintWriter pw = new PrintWriter(new BufferedWriter(new FileWriter(tmp, false)))) {
+            for (ReminderConfig rc : latest.values()) pw.println(reminderToCsvLine(rc));
+        } catch (IOException e) {
+            System.err.println("Reminder compaction failed: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(tmp.toPath(), new File(reminderPath).toPath(),
+                       StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            reminderLineCount = latest.size();
+        } catch (IOException e) {
+            System.err.println("Reminder compaction failed: " + e.getMessage());
+        }
+    }
+
+    private ReminderConfig parseReminderLine(String line) {
+        String[] p = line.split("\\|");
+        if (p.length < 3) return null;
+        return new ReminderConfig(
+            Integer.parseInt(p[0]), 
+            Duration.parse(p[1]), 
+            Boolean.parseBoolean(p[2])
+        );
+    }
+
     private void writeLineToFile(String filePath, String line) {
         try (PrintWriter pw = new PrintWriter(new FileWriter(filePath, true))) {
             pw.println(line);
@@ -135,6 +377,11 @@ public List<ReminderConfig> readAllReminderConfigs() {
     }
 
     public synchronized boolean updateEventInCsv(Event updatedEvent) {
+        if (journalMode) {
+            if (!eventJournal.contains(updatedEvent.getEventId())) return false;
+            eventJournal.appendUpsert(JournalFile.OP_UPDATE, eventToCsvLine(updatedEvent));
+            return true;
+        }
         List<Event> allEvents = readAllEventsFromCsv();
         boolean found = false;
         
@@ -155,6 +402,10 @@ public List<ReminderConfig> readAllReminderConfigs() {
     }
 
     public synchronized boolean deleteEventFromCsv(int eventId) {
+        if (journalMode) {
+            eventJournal.appendDelete(eventId);
+            return true;
+        }
         List<Event> allEvents = readAllEventsFromCsv();
         try (PrintWriter pw = new PrintWriter(new FileWriter(eventPath, false))) {
             for (Event e : allEvents) {
@@ -171,6 +422,11 @@ public List<ReminderConfig> readAllReminderConfigs() {
 
 
     public synchronized boolean updateRecurrentEventInCsv(RecurrentEvent updatedRc) {
+        if (journalMode) {
+            // upsert: an event that had no rule before gets one
+            recurrentJournal.appendUpsert(JournalFile.OP_UPDATE, recurrentToCsvLine(updatedRc));
+            return true;
+        }
         List<RecurrentEvent> allRules = readAllRecurrentEventsFromCsv(); 
         boolean found = false;
         try (PrintWriter pw = new PrintWriter(new FileWriter(recurrentPath, false))) {
@@ -190,6 +446,10 @@ public List<ReminderConfig> readAllReminderConfigs() {
 
 
     public synchronized boolean deleteRecurrentEventFromCsv(int eventId) {
+        if (journalMode) {
+            if (recurrentJournal.contains(eventId)) recurrentJournal.appendDelete(eventId);
+            return true;
+        }
         List<RecurrentEvent> allRules = readAllRecurrentEventsFromCsv();
         try (PrintWriter pw = new PrintWriter(new FileWriter(recurrentPath, false))) {
             allRules.stream().filter(rc -> (rc.getEventId() != eventId)).forEachOrdered(rc -> {
@@ -213,13 +473,23 @@ public List<ReminderConfig> readAllReminderConfigs() {
                rc.getRecurrentTimes() + "|" + rc.getRecurrentEndDate();
     }
 
+    private String reminderToCsvLine(ReminderConfig rc) {
+        return rc.getEventId() + "|" + rc.getRemindDuration() + "|" + rc.isEnable();
+    }
+
 
 public synchronized void deleteReminderConfigFromCsv(int eventId) {
+    if (journalMode) {
+        if (reminderJournal.contains(eventId)) reminderJournal.appendDelete(eventId);
+        return;
+    }
     List<ReminderConfig> allConfigs = readAllReminderConfigs();
     try (PrintWriter pw = new PrintWriter(new FileWriter(reminderPath, false))) {
         allConfigs.stream().filter(rc -> (rc.getEventId() != eventId)).forEachOrdered(rc -> {
-            pw.println(rc.getEventId() + "|" + rc.getRemindDuration() + "|" + rc.isEnable());
+            pw.println(reminderToCsvLine(rc));
         });
+        reminderIds.remove(eventId);
+        reminderLineCount = (int) allConfigs.stream().filter(rc -> rc.getEventId() != eventId).count();
     } catch (IOException e) {
         System.err.println("Failed to perform physical deletion of reminder: " + e.getMessage());
     }
@@ -0,0 +1,325 @@
+package calenderApplication.dataLayer;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * One pipe-delimited table stored as a snapshot file plus an append-only log.
+ *
+ * Snapshot lines are the plain CSV records ("ID|..."). Log lines are mutation records:
+ * "C|&lt;record&gt;" (create), "U|&lt;record&gt;" (update) and "D|&lt;id&gt;" (delete).
+ * The current table is the snapshot with the log replayed on top, last write wins per ID.
+ *
+ * Compaction folds the log into a new snapshot. The live log is first rotated to
+ * "&lt;log&gt;.old" under the lock, so appends keep going to a fresh log while the fold runs in
+ * the background; readers replay snapshot + old log + log and always see a consistent table.
+ * Every record is a full upsert or delete, so replaying an old log twice after a crash is harmless.
+ *
+ * Besides the log size, compaction is also triggered by the share of stale lines (records that a
+ * later line for the same ID has superseded, plus delete records): once at least half of all lines
+ * are stale the table is rewritten, both right after loading and while appending.
+ */
+public class JournalFile {
+    public static final char OP_CREATE = 'C';
+    public static final char OP_UPDATE = 'U';
+    public static final char OP_DELETE = 'D';
+
+    private final Path snapshotPath;
+    private final Path logPath;
+    private final Path oldLogPath;
+    private final long compactThresholdBytes;
+    private final ExecutorService compactor;
+    private static final double STALE_RATIO_THRESHOLD = 0.5;
+    private static final int MIN_STALE_LINES = 64;
+
+    private boolean compacting = false;
+    // lines on disk (snapshot + logs) that no longer describe a live record; -1 until the table was read once
+    private int staleLines = -1;
+    private int staleAtRotation = 0;
+    // IDs currently present in the table, loaded on first use
+    private Set<Integer> liveKeys;
+
+    public JournalFile(String snapshotPath, String logPath, long compactThresholdBytes, ExecutorService compactor) {
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.logPath = Paths.get(logPath);
+        this.oldLogPath = Paths.get(logPath + ".old");
+        this.compactThresholdBytes = compactThresholdBytes;
+        this.compactor = compactor;
+    }
+
+    public String getSnapshotPath() { return snapshotPath.toString(); }
+
+    /** Append a create/update record; the record is the plain CSV line whose first field is the ID. */
+    public synchronized void appendUpsert(char op, String record) {
+        Integer key = keyOf(record);
+        if (key == null) return;
+        if (liveKeys != null && !liveKeys.add(key) && staleLines >= 0) staleLines++;
+        appendLine(op + "|" + record);
+    }
+
+    public synchronized void appendDelete(int id) {
+        // the delete record itself and the record it removes are both dead weight from now on
+        if (liveKeys != null && staleLines >= 0) staleLines += liveKeys.remove(id) ? 2 : 1;
+        appendLine(OP_DELETE + "|" + id);
+    }
+
+    public synchronized boolean contains(int id) {
+        if (liveKeys == null) readRecords();
+        return liveKeys.contains(id);
+    }
+
+    /** Current records (snapshot + replayed logs) in first-seen order. */
+    public synchronized List<String> readRecords() {
+        return new ArrayList<>(load(path -> {
+            List<String> lines = new ArrayList<>();
+            readLines(snapshotPath, lines);
+            return lines;
+        }, JournalFile::keyOf, record -> record).values());
+    }
+
+    /**
+     * Load the table with a custom snapshot loader (e.g. the parallel CSV parser, or data that
+     * is already in memory) and replay the pending log lines on top, all under the lock so a
+     * background compaction cannot swap the snapshot halfway. Returns ID -> value, last write wins.
+     */
+    public synchronized <V> Map<Integer, V> load(Function<String, List<V>> snapshotLoader,
+                                                 Function<V, Integer> idOf, Function<String, V> parse) {
+        Map<Integer, V> records = new LinkedHashMap<>();
+        int stale = 0;
+        for (V v : snapshotLoader.apply(snapshotPath.toString())) {
+            Integer key = idOf.apply(v);
+            if (key != null && records.put(key, v) != null) stale++;
+        }
+        for (String line : readPendingLogLines()) {
+            stale += replay(records, line, parse);
+        }
+        liveKeys = new HashSet<>(records.keySet());
+        staleLines = stale;
+        maybeCompact();
+        return records;
+    }
+
+    /**
+     * Replay the pending log lines onto a table loaded from somewhere else (calendar.snap), which
+     * may already contain some or all of them. Replaying is idempotent, but the replay result says
+     * nothing about what is stale on disk, so the stale count is taken from the log lines alone:
+     * records superseded by a later log line, plus the delete records.
+     */
+    public synchronized <V> Map<Integer, V> replayOnto(List<V> base, Function<V, Integer> idOf,
+                                                       Function<String, V> parse) {
+        Map<Integer, V> records = new LinkedHashMap<>();
+        for (V v : base) {
+            Integer key = idOf.apply(v);
+            if (key != null) records.put(key, v);
+        }
+        List<String> pending = readPendingLogLines();
+        for (String line : pending) replay(records, line, parse);
+        liveKeys = new HashSet<>(records.keySet());
+        staleLines = staleWithinLog(pending);
+        maybeCompact();
+        return records;
+    }
+
+    /** Lines of the log(s) still to be replayed on top of the snapshot, oldest first. */
+    public synchronized List<String> readPendingLogLines() {
+        List<String> lines = new ArrayList<>();
+        readLines(oldLogPath, lines);
+        readLines(logPath, lines);
+        return lines;
+    }
+
+    public synchronized long logSize() {
+        return sizeOf(logPath) + sizeOf(oldLogPath);
+    }
+
+    /** Fold the logs into the snapshot right now, on the calling thread. */
+    public void compactNow() {
+        synchronized (this) {
+            if (compacting) return;
+            if (!Files.exists(logPath) && !Files.exists(oldLogPath)) return;
+            compacting = true;
+        }
+        try {
+            rotateAndFold();
+        } finally {
+            synchronized (this) { compacting = false; }
+        }
+    }
+
+    // --- internals ---
+
+    private void appendLine(String line) {
+        try (PrintWriter pw = new PrintWriter(new FileWriter(logPath.toFile(), true))) {
+            pw.println(line);
+        } catch (IOException e) {
+            System.err.println("IO Error on " + logPath + ": " + e.getMessage());
+            return;
+        }
+        maybeCompact();
+    }
+
+    private void maybeCompact() {
+        boolean tooBig = sizeOf(logPath) >= compactThresholdBytes;
+        boolean tooStale = staleLines >= MIN_STALE_LINES && liveKeys != null
+                           && staleLines >= STALE_RATIO_THRESHOLD * (staleLines + liveKeys.size());
+        if (!compacting && compactor != null && (tooBig || tooStale)) {
+            compacting = true;
+            compactor.submit(() -> {
+                try {
+                    rotateAndFold();
+                } finally {
+                    synchronized (JournalFile.this) { compacting = false; }
+                }
+            });
+        }
+    }
+
+    private void rotateAndFold() {
+        Map<Integer, String> base;
+        List<String> pending = new ArrayList<>();
+        synchronized (this) {
+            try {
+                // a leftover .old log (crash during an earlier fold) is folded in the same pass
+                if (Files.exists(logPath)) {
+                    if (Files.exists(oldLogPath)) {
+                        appendFile(logPath, oldLogPath);
+                        Files.delete(logPath);
+                    } else {
+                        Files.move(logPath, oldLogPath, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Journal rotation failed on " + logPath + ": " + e.getMessage());
+                return;
+            }
+            readLines(oldLogPath, pending);
+            staleAtRotation = Math.max(0, staleLines);
+        }
+
+        // the expensive part runs without the lock: appends go to the fresh log meanwhile,
+        // and only this method ever replaces the snapshot
+        base = readSnapshot();
+        for (String line : pending) replay(base, line);
+        Path tmp = Paths.get(snapshotPath + ".tmp");
+        try (PrintWriter pw = new PrintWriter(new BufferedWriter(new FileWriter(tmp.toFile(), false)))) {
+            for (String record : base.values()) pw.println(record);
+        } catch (IOException e) {
+            System.err.println("Journal compaction failed on " + snapshotPath + ": " + e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            try {
+                Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.deleteIfExists(oldLogPath);
+                // everything stale before the rotation is gone now; appends since then still count
+                if (staleLines >= 0) staleLines = Math.max(0, staleLines - staleAtRotation);
+            } catch (IOException e) {
+                System.err.println("Journal compaction failed on " + snapshotPath + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private Map<Integer, String> readSnapshot() {
+        Map<Integer, String> records = new LinkedHashMap<>();
+        List<String> lines = new ArrayList<>();
+        readLines(snapshotPath, lines);
+        for (String line : lines) {
+            Integer key = keyOf(line);
+            if (key != null) records.put(key, line);
+        }
+        return records;
+    }
+
+    static void replay(Map<Integer, String> records, String line) {
+        replay(records, line, record -> record);
+    }
+
+    /**
+     * Apply one log line to an ID -> value map, turning upserted records into values with parse.
+     * Malformed lines (e.g. a torn last write) and records parse rejects (null) are skipped.
+     * Returns how many lines on disk became stale by it (for the compaction trigger).
+     */
+    static <V> int replay(Map<Integer, V> records, String line, Function<String, V> parse) {
+        if (line.length() < 3 || line.charAt(1) != '|') return 1;
+        String payload = line.substring(2);
+        Integer key = keyOf(payload);
+        if (key == null) return 1;
+        switch (line.charAt(0)) {
+            case OP_CREATE:
+            case OP_UPDATE:
+                V value = parse.apply(payload);
+                if (value == null) return 1;
+                return records.put(key, value) != null ? 1 : 0;
+            case OP_DELETE:
+                return records.remove(key) != null ? 2 : 1;
+            default:
+                return 1;
+        }
+    }
+
+    // 只看日志本身：被后面的日志行覆盖的记录，以及删除记录
+    static int staleWithinLog(List<String> lines) {
+        Set<Integer> liveInLog = new HashSet<>();
+        int stale = 0;
+        for (String line : lines) {
+            Integer key = (line.length() < 3 || line.charAt(1) != '|') ? null : keyOf(line.substring(2));
+            if (key == null) {
+                stale++;
+            } else if (line.charAt(0) == OP_DELETE) {
+                stale += liveInLog.remove(key) ? 2 : 1;
+            } else if (!liveInLog.add(key)) {
+                stale++;
+            }
+        }
+        return stale;
+    }
+
+    static Integer keyOf(String record) {
+        int bar = record.indexOf('|');
+        String id = (bar < 0) ? record : record.substring(0, bar);
+        try {
+            return Integer.parseInt(id.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void readLines(Path path, List<String> out) {
+        if (!Files.exists(path)) return;
+        try (BufferedReader br = new BufferedReader(new FileReader(path.toFile()))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) out.add(line);
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading " + path + ": " + e.getMessage());
+        }
+    }
+
+    private static void appendFile(Path from, Path to) throws IOException {
+        try (OutputStream out = new FileOutputStream(to.toFile(), true)) {
+            Files.copy(from, out);
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.exists(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package calenderApplication.GUI;
+
+import java.time.YearMonth;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CalendarAppGUITest {
+
+    // day of year + 1, so each entry names its own day
+    private static int[] yearOccupancy(int year) {
+        int[] counts = new int[YearMonth.of(year, 12).atEndOfMonth().getDayOfYear()];
+        for (int i = 0; i < counts.length; i++) counts[i] = i + 1;
+        return counts;
+    }
+
+    @Test
+    public void monthSliceCoversExactlyTheMonth() {
+        int[] year = yearOccupancy(2026);
+
+        int[] january = CalendarAppGUI.monthSlice(year, YearMonth.of(2026, 1));
+        assertEquals(31, january.length);
+        assertEquals(1, january[0]);
+        assertEquals(31, january[30]);
+
+        int[] february = CalendarAppGUI.monthSlice(year, YearMonth.of(2026, 2));
+        assertEquals(28, february.length);
+        assertEquals(32, february[0]);
+
+        int[] december = CalendarAppGUI.monthSlice(year, YearMonth.of(2026, 12));
+        assertEquals(31, december.length);
+        assertEquals(335, december[0]);
+        assertEquals(365, december[30]);
+    }
+
+    @Test
+    public void monthSliceInLeapYear() {
+        int[] year = yearOccupancy(2028);
+
+        int[] february = CalendarAppGUI.monthSlice(year, YearMonth.of(2028, 2));
+        assertEquals(29, february.length);
+        assertEquals(60, february[28]);
+        assertEquals(61, CalendarAppGUI.monthSlice(year, YearMonth.of(2028, 3))[0]);
+        assertEquals(366, CalendarAppGUI.monthSlice(year, YearMonth.of(2028, 12))[30]);
+    }
+}
@@ -0,0 +1,111 @@
+package calenderApplication.GUI;
+
+import calenderApplication.businessLogic.Event;
+import calenderApplication.businessLogic.EventManager;
+import calenderApplication.businessLogic.InMemoryFileIOManager;
+import calenderApplication.dataLayer.BinarySnapshot;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DayEventListModelTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+    private static final int ON_DAY = 150; // more than two pages
+
+    private static Event event(int id, LocalDateTime start) {
+        Event e = new Event();
+        e.setEventId(id);
+        e.setTitle("Slot " + id);
+        e.setDescription("");
+        e.setLocation("Room");
+        e.setCategory("Work");
+        e.setStartDateTime(start);
+        e.setEndDateTime(start.plusMinutes(5));
+        return e;
+    }
+
+    // IDs 1..ON_DAY on DAY, one minute apart; IDs 1001 and 1002 on the days around it
+    private static EventManager manager() {
+        List<Event> events = new ArrayList<>();
+        for (int id = 1; id <= ON_DAY; id++) events.add(event(id, DAY.atTime(6, 0).plusMinutes(id)));
+        events.add(event(1001, DAY.minusDays(1).atTime(23, 0)));
+        events.add(event(1002, DAY.plusDays(1).atTime(0, 0)));
+        return new EventManager(new InMemoryFileIOManager(),
+                new BinarySnapshot(events, new ArrayList<>(), new ArrayList<>()));
+    }
+
+    private static class Recorder implements ListDataListener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void intervalAdded(ListDataEvent e) { events.add("added " + e.getIndex0() + "-" + e.getIndex1()); }
+
+        @Override
+        public void intervalRemoved(ListDataEvent e) { events.add("removed " + e.getIndex0() + "-" + e.getIndex1()); }
+
+        @Override
+        public void contentsChanged(ListDataEvent e) { events.add("changed " + e.getIndex0() + "-" + e.getIndex1()); }
+    }
+
+    @Test
+    public void rowsFollowStartTimeAcrossPages() {
+        DayEventListModel model = new DayEventListModel(manager(), DAY);
+        assertEquals(ON_DAY, model.getSize());
+        for (int row = 0; row < ON_DAY; row++) {
+            assertEquals(row + 1, model.getElementAt(row).getEventId());
+        }
+        // jumping back to an earlier page reads it again
+        assertEquals(ON_DAY, model.getElementAt(ON_DAY - 1).getEventId());
+        assertEquals(1, model.getElementAt(0).getEventId());
+        assertEquals(65, model.getElementAt(64).getEventId());
+        assertEquals(64, model.getElementAt(63).getEventId());
+    }
+
+    @Test
+    public void rowsOutsideTheDayAreNull() {
+        DayEventListModel model = new DayEventListModel(manager(), DAY);
+        assertNull(model.getElementAt(-1));
+        assertNull(model.getElementAt(ON_DAY));
+    }
+
+    @Test
+    public void reloadPicksUpChangesAndFiresTheDifference() {
+        EventManager manager = manager();
+        DayEventListModel model = new DayEventListModel(manager, DAY);
+        Recorder recorder = new Recorder();
+        model.addListDataListener(recorder);
+
+        for (int id = 1; id <= 10; id++) assertTrue(manager.deleteEvent(id));
+        assertEquals(ON_DAY, model.getSize()); // until reload
+        model.reload();
+        assertEquals(ON_DAY - 10, model.getSize());
+        assertEquals(11, model.getElementAt(0).getEventId());
+        assertEquals(ON_DAY, model.getElementAt(ON_DAY - 11).getEventId());
+        assertEquals(List.of("removed 140-149", "changed 0-139"), recorder.events);
+
+        recorder.events.clear();
+        assertTrue(manager.updateEvent(event(1002, DAY.atTime(5, 0)), null));
+        model.reload();
+        assertEquals(ON_DAY - 9, model.getSize());
+        assertEquals(1002, model.getElementAt(0).getEventId());
+        assertEquals(List.of("added 140-140", "changed 0-139"), recorder.events);
+    }
+
+    @Test
+    public void otherDaysAndNoManager() {
+        DayEventListModel model = new DayEventListModel(manager(), DAY.plusDays(1));
+        assertEquals(1, model.getSize());
+        assertEquals(1002, model.getElementAt(0).getEventId());
+
+        model.setDate(DAY.plusDays(5));
+        assertEquals(0, model.getSize());
+        assertNull(model.getElementAt(0));
+
+        assertEquals(0, new DayEventListModel(null, DAY).getSize());
+    }
+}
@@ -0,0 +1,111 @@
+package calenderApplication.businessLogic;
+
+import calenderApplication.dataLayer.BinarySnapshot;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AttributeIndexTest {
+
+    private static BitSet ids(int... ids) {
+        BitSet b = new BitSet();
+        for (int id : ids) b.set(id);
+        return b;
+    }
+
+    @Test
+    public void lookupIgnoresCaseAndQuerySpaces() {
+        AttributeIndex index = new AttributeIndex();
+        index.put(1, "Work");
+        index.put(2, "work");
+        index.put(3, "Personal");
+
+        assertEquals(ids(1, 2), index.lookup(" WORK "));
+        assertEquals(ids(3), index.lookup("personal"));
+        assertEquals(ids(), index.lookup("Gym"));
+        assertEquals(2, index.valueCount());
+    }
+
+    @Test
+    public void lookupReturnsACopy() {
+        AttributeIndex index = new AttributeIndex();
+        index.put(1, "Work");
+        index.lookup("Work").set(99);
+        assertEquals(ids(1), index.lookup("Work"));
+    }
+
+    @Test
+    public void valuesAreReleasedWhenTheirLastEventLeaves() {
+        AttributeIndex index = new AttributeIndex();
+        index.put(1, "Work");
+        index.put(2, "Work");
+        index.put(3, "Gym");
+
+        index.put(3, "Home"); // renamed: Gym has no events left
+        assertEquals(2, index.valueCount());
+        assertEquals(ids(), index.lookup("Gym"));
+
+        index.remove(1);
+        assertEquals(2, index.valueCount());
+        index.remove(2);
+        assertEquals(1, index.valueCount());
+        assertEquals(ids(), index.lookup("Work"));
+
+        // released codes are reused without mixing up the values
+        index.put(4, "Travel");
+        index.put(5, "Work");
+        assertEquals(ids(4), index.lookup("travel"));
+        assertEquals(ids(5), index.lookup("work"));
+        assertEquals(ids(3), index.lookup("home"));
+        assertEquals(3, index.valueCount());
+    }
+
+    @Test
+    public void nullAndEmptyShareAValue() {
+        AttributeIndex index = new AttributeIndex();
+        index.put(1, null);
+        index.put(2, "");
+        assertEquals(ids(1, 2), index.lookup(null));
+        index.remove(1);
+        index.remove(2);
+        assertEquals(0, index.valueCount());
+        index.remove(2); // unknown IDs are ignored
+        index.remove(-1);
+    }
+
+    @Test
+    public void indexingDoesNotTouchTheCallersEvent() {
+        List<Event> events = new ArrayList<>();
+        for (int id = 1; id <= 2; id++) {
+            Event e = new Event();
+            e.setEventId(id);
+            e.setTitle("T" + id);
+            e.setCategory(new String("Work"));
+            e.setLocation(new String("Office"));
+            e.setStartDateTime(LocalDateTime.of(2026, 3, 2, 9, 0).plusDays(id));
+            e.setEndDateTime(LocalDateTime.of(2026, 3, 2, 10, 0).plusDays(id));
+            events.add(e);
+        }
+        String category = events.get(1).getCategory();
+        String location = events.get(1).getLocation();
+        EventManager em = new EventManager(new InMemoryFileIOManager(),
+                new BinarySnapshot(events, new ArrayList<>(), new ArrayList<>()));
+        assertSame(category, events.get(1).getCategory());
+        assertSame(location, events.get(1).getLocation());
+
+        Event edited = new Event();
+        edited.setEventId(2);
+        edited.setTitle("T2");
+        edited.setCategory(new String("Work"));
+        edited.setLocation(new String("Office"));
+        edited.setStartDateTime(LocalDateTime.of(2026, 3, 9, 9, 0));
+        edited.setEndDateTime(LocalDateTime.of(2026, 3, 9, 10, 0));
+        category = edited.getCategory();
+        assertTrue(em.updateEvent(edited, null));
+        assertSame(category, edited.getCategory());
+        assertEquals(ids(1, 2), em.seriesBitsByCategory("work"));
+    }
+}
@@ -0,0 +1,148 @@
+package calenderApplication.businessLogic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CompletionTrieTest {
+
+    private static CompletionTrie trieOf(String... words) {
+        CompletionTrie trie = new CompletionTrie();
+        for (String w : words) trie.add(w.toLowerCase(), w);
+        return trie;
+    }
+
+    private static int distance(String a, String b) {
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j < row.length; j++) row[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            int diag = row[0];
+            row[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int up = row[j];
+                row[j] = Math.min(diag + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1), Math.min(up, row[j - 1]) + 1);
+                diag = up;
+            }
+        }
+        return row[b.length()];
+    }
+
+    /** Words with some prefix within maxEdits of the query. */
+    private static Set<String> bruteForce(Set<String> words, String query, int maxEdits) {
+        Set<String> res = new HashSet<>();
+        for (String w : words) {
+            for (int n = 0; n <= w.length(); n++) {
+                if (distance(w.substring(0, n), query) <= maxEdits) {
+                    res.add(w);
+                    break;
+                }
+            }
+        }
+        return res;
+    }
+
+    @Test
+    public void referencesAreCounted() {
+        CompletionTrie trie = trieOf("Team", "Team", "Teamwork");
+        trie.remove("team"); // one of the two identical words
+        assertEquals(Arrays.asList("Team", "Teamwork"), trie.complete("tea", 0, 10));
+
+        trie.remove("team");
+        assertEquals(Collections.singletonList("Teamwork"), trie.complete("tea", 0, 10));
+        trie.remove("team"); // nothing left to drop
+        trie.remove("teams");
+        trie.remove("");
+        assertEquals(Collections.singletonList("Teamwork"), trie.complete("tea", 0, 10));
+
+        trie.add("team", "TEAM"); // back again, with its new spelling
+        assertEquals(Arrays.asList("TEAM", "Teamwork"), trie.complete("TEA", 0, 10));
+    }
+
+    @Test
+    public void firstSpellingIsShown() {
+        CompletionTrie trie = trieOf("Harbour", "HARBOUR");
+        assertEquals(Collections.singletonList("Harbour"), trie.complete("harb", 0, 10));
+        assertEquals(Collections.singletonList("Harbour"), trie.complete("harbour", 0, 10));
+        assertTrue(trie.complete("harbours", 0, 10).isEmpty());
+        assertTrue(trie.complete("harb", 0, 0).isEmpty());
+    }
+
+    @Test
+    public void removalMergesNodesThatNoLongerBranch() {
+        CompletionTrie trie = trieOf("test");
+        assertEquals(1, trie.nodeCount());
+
+        trie.add("team", "team"); // "te" splits: te -> {st, am}
+        trie.add("te", "te");
+        assertEquals(3, trie.nodeCount());
+
+        trie.remove("te"); // "te" still branches
+        assertEquals(3, trie.nodeCount());
+        trie.remove("team"); // te and st merge back into test
+        assertEquals(1, trie.nodeCount());
+        assertEquals(Collections.singletonList("test"), trie.complete("tes", 0, 10));
+        assertEquals(Collections.singletonList("test"), trie.complete("t", 0, 10));
+
+        // a key ending on the merged node's split point still works
+        trie.add("tea", "tea");
+        trie.add("teapot", "teapot");
+        trie.remove("tea"); // a and pot merge: te -> {apot, st}
+        assertEquals(Arrays.asList("teapot", "test"), trie.complete("te", 0, 10));
+        assertEquals(3, trie.nodeCount());
+        trie.remove("teapot");
+        trie.remove("test");
+        assertEquals(0, trie.nodeCount());
+        assertTrue(trie.complete("", 0, 10).isEmpty());
+    }
+
+    @Test
+    public void fuzzyMatchesAtDistanceZeroOneAndTwo() {
+        CompletionTrie trie = trieOf("meeting", "meetup", "melting", "planning", "mentor");
+
+        assertEquals(Arrays.asList("meeting", "meetup"), trie.complete("meet", 0, 10));
+        // one substitution: "mentor" via "ment", "melting" via "melt"; the exact ones come first
+        assertEquals(new HashSet<>(Arrays.asList("meeting", "meetup", "melting", "mentor")),
+                new HashSet<>(trie.complete("meet", 1, 10)));
+        assertEquals(Arrays.asList("meeting", "meetup"), trie.complete("meet", 1, 10).subList(0, 2));
+        assertEquals(Collections.singletonList("planning"), trie.complete("plnaning", 2, 10));
+        assertTrue(trie.complete("plnaning", 1, 10).isEmpty());
+        assertEquals(2, trie.complete("meet", 2, 2).size());
+    }
+
+    @Test
+    public void fuzzyMatchesEqualBruteForce() {
+        Random rnd = new Random(3);
+        String letters = "abcde";
+        Set<String> words = new HashSet<>();
+        CompletionTrie trie = new CompletionTrie();
+        for (int i = 0; i < 300; i++) {
+            StringBuilder sb = new StringBuilder();
+            int len = 1 + rnd.nextInt(7);
+            for (int c = 0; c < len; c++) sb.append(letters.charAt(rnd.nextInt(letters.length())));
+            if (words.add(sb.toString())) trie.add(sb.toString(), sb.toString());
+        }
+        // drop some again so the checked trie went through merges too
+        List<String> all = new ArrayList<>(words);
+        for (int i = 0; i < all.size(); i += 3) {
+            trie.remove(all.get(i));
+            words.remove(all.get(i));
+        }
+
+        for (int q = 0; q < 200; q++) {
+            StringBuilder sb = new StringBuilder();
+            int len = 1 + rnd.nextInt(5);
+            for (int c = 0; c < len; c++) sb.append(letters.charAt(rnd.nextInt(letters.length())));
+            String query = sb.toString();
+            for (int edits = 0; edits <= 2; edits++) {
+                assertEquals(query + "~" + edits, bruteForce(words, query, edits),
+                        new HashSet<>(trie.complete(query, edits, Integer.MAX_VALUE)));
+            }
+        }
+    }
+}
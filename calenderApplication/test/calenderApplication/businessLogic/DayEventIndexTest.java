@@ -0,0 +1,76 @@
+package calenderApplication.businessLogic;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DayEventIndexTest {
+    private static final LocalDate MAR_1 = LocalDate.of(2026, 3, 1);
+
+    @Test
+    public void countsEachDayOfTheRange() {
+        DayEventIndex index = new DayEventIndex();
+        index.addSeries(1, MAR_1.atTime(9, 0), 0, 0);
+        index.addSeries(2, MAR_1.atTime(14, 0), 0, 0);
+        index.addSeries(3, MAR_1.plusDays(2).atTime(8, 0), 0, 0);
+
+        assertArrayEquals(new int[]{2, 0, 1, 0}, index.countPerDay(MAR_1, MAR_1.plusDays(3)));
+    }
+
+    @Test
+    public void countsRecurringSeriesOnEveryOccurrence() {
+        DayEventIndex index = new DayEventIndex();
+        // weekly, 4 occurrences: Mar 2, 9, 16, 23
+        index.addSeries(1, LocalDateTime.of(2026, 3, 2, 10, 0), 7, 3);
+        // every other day, 3 occurrences: Mar 8, 10, 12
+        index.addSeries(2, LocalDateTime.of(2026, 3, 8, 10, 0), 2, 2);
+
+        int[] counts = index.countPerDay(MAR_1, LocalDate.of(2026, 3, 31));
+        assertEquals(31, counts.length);
+        int total = 0;
+        for (int c : counts) total += c;
+        assertEquals(7, total);
+        assertEquals(1, counts[1]);
+        assertEquals(1, counts[8]);
+        assertEquals(1, counts[9]);
+        assertEquals(0, counts[10]);
+        assertEquals(1, counts[22]);
+        assertEquals(0, counts[29]);
+    }
+
+    @Test
+    public void rangeBoundsAreInclusive() {
+        DayEventIndex index = new DayEventIndex();
+        index.addSeries(1, MAR_1.atTime(0, 0), 0, 0);
+        index.addSeries(2, MAR_1.plusDays(4).atTime(23, 59), 0, 0);
+        index.addSeries(3, MAR_1.plusDays(5).atTime(0, 0), 0, 0);
+
+        assertArrayEquals(new int[]{1, 0, 0, 0, 1}, index.countPerDay(MAR_1, MAR_1.plusDays(4)));
+        assertArrayEquals(new int[]{1}, index.countPerDay(MAR_1.plusDays(5), MAR_1.plusDays(5)));
+    }
+
+    @Test
+    public void emptyAndReversedRanges() {
+        DayEventIndex index = new DayEventIndex();
+        assertArrayEquals(new int[]{0, 0, 0}, index.countPerDay(MAR_1, MAR_1.plusDays(2)));
+
+        index.addSeries(1, MAR_1.atTime(9, 0), 0, 0);
+        assertEquals(0, index.countPerDay(MAR_1.plusDays(1), MAR_1).length);
+    }
+
+    @Test
+    public void removedAndReplacedSeriesAreNoLongerCounted() {
+        DayEventIndex index = new DayEventIndex();
+        index.addSeries(1, MAR_1.atTime(9, 0), 1, 2);
+        index.addSeries(2, MAR_1.atTime(9, 0), 0, 0);
+        assertArrayEquals(new int[]{2, 1, 1}, index.countPerDay(MAR_1, MAR_1.plusDays(2)));
+
+        index.removeSeries(2);
+        assertArrayEquals(new int[]{1, 1, 1}, index.countPerDay(MAR_1, MAR_1.plusDays(2)));
+
+        // re-adding an ID replaces its old occurrences
+        index.addSeries(1, MAR_1.plusDays(2).atTime(9, 0), 0, 0);
+        assertArrayEquals(new int[]{0, 0, 1}, index.countPerDay(MAR_1, MAR_1.plusDays(2)));
+    }
+}
@@ -0,0 +1,82 @@
+package calenderApplication.businessLogic;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DurationHistogramTest {
+    private static final double[] QUANTILES = {0.0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1.0};
+
+    // same rank rule as the histogram: the ceil(q * n)-th smallest value
+    private static long exactQuantile(long[] sorted, double q) {
+        int rank = (int) Math.max(1, Math.ceil(q * sorted.length));
+        return sorted[rank - 1];
+    }
+
+    private static void assertWithinBucketError(long[] values, DurationHistogram h) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            long exact = exactQuantile(sorted, q);
+            long approx = h.getValueAtQuantile(q);
+            // values under 32 are exact; above, the bucket is 1/32 of its power of two wide
+            assertEquals("q=" + q, exact, approx, exact / 32.0);
+        }
+    }
+
+    @Test
+    public void percentilesStayWithinTheDocumentedError() {
+        Random rnd = new Random(17);
+        long[] values = new long[50_000];
+        DurationHistogram h = new DurationHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // log-uniform from minutes to years
+            values[i] = (long) Math.exp(rnd.nextDouble() * Math.log(1_000_000));
+            h.record(values[i], 1);
+        }
+        assertEquals(values.length, h.getTotalCount());
+        assertWithinBucketError(values, h);
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        DurationHistogram h = new DurationHistogram();
+        for (long v = 0; v < 32; v++) h.record(v, 1);
+        assertEquals(0, h.getValueAtQuantile(0.0));
+        assertEquals(15, h.getValueAtQuantile(0.5));
+        assertEquals(31, h.getValueAtQuantile(1.0));
+    }
+
+    @Test
+    public void countsAndMergeActLikeRepeatedRecords() {
+        Random rnd = new Random(2);
+        DurationHistogram one = new DurationHistogram();
+        DurationHistogram left = new DurationHistogram();
+        DurationHistogram right = new DurationHistogram();
+        long[] values = new long[3000];
+        int n = 0;
+        for (int i = 0; i < 300; i++) {
+            long v = rnd.nextInt(5000);
+            int count = 1 + rnd.nextInt(10);
+            one.record(v, count);
+            (i % 2 == 0 ? left : right).record(v, count);
+            for (int c = 0; c < count; c++) values[n++] = v;
+        }
+        left.merge(right);
+        assertEquals(one.getTotalCount(), left.getTotalCount());
+        for (double q : QUANTILES) assertEquals(one.getValueAtQuantile(q), left.getValueAtQuantile(q));
+        assertWithinBucketError(Arrays.copyOf(values, n), one);
+    }
+
+    @Test
+    public void ignoredInputs() {
+        DurationHistogram h = new DurationHistogram();
+        assertEquals(0, h.getValueAtQuantile(0.5));
+        h.record(-5, 1);
+        h.record(10, 0);
+        assertEquals(0, h.getTotalCount());
+        h.record(Long.MAX_VALUE, 1);
+        assertEquals(Long.MAX_VALUE, h.getValueAtQuantile(1.0), Long.MAX_VALUE / 32.0);
+    }
+}
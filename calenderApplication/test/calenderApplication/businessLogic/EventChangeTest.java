@@ -0,0 +1,75 @@
+package calenderApplication.businessLogic;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class EventChangeTest {
+    private static final LocalDate MAR_2 = LocalDate.of(2026, 3, 2);
+
+    private static List<LocalDate> march(int... days) {
+        LocalDate[] dates = new LocalDate[days.length];
+        for (int i = 0; i < days.length; i++) dates[i] = LocalDate.of(2026, 3, days[i]);
+        return Arrays.asList(dates);
+    }
+
+    @Test
+    public void recurringSpanAffectsOnlyItsOccurrences() {
+        // weekly, Mar 2 .. Mar 23
+        EventChange change = new EventChange(1, EventChange.Type.CREATED).addSeries(MAR_2, 7, 3);
+
+        assertTrue(change.affects(MAR_2));
+        assertTrue(change.affects(LocalDate.of(2026, 3, 23)));
+        assertFalse(change.affects(LocalDate.of(2026, 3, 3)));
+        assertFalse(change.affects(LocalDate.of(2026, 3, 30)));
+        assertFalse(change.affects(LocalDate.of(2026, 2, 23)));
+        assertEquals(MAR_2, change.getFrom());
+        assertEquals(LocalDate.of(2026, 3, 23), change.getTo());
+        assertEquals(march(2, 9, 16, 23), change.affectedDays(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)));
+        assertEquals(march(9, 16), change.affectedDays(LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 16)));
+    }
+
+    @Test
+    public void intervalZeroIsASingleDay() {
+        // a non-recurring event: the last index is ignored
+        EventChange change = new EventChange(1, EventChange.Type.UPDATED).addSeries(MAR_2, 0, 5);
+
+        assertTrue(change.affects(MAR_2));
+        assertFalse(change.affects(MAR_2.plusDays(1)));
+        assertEquals(MAR_2, change.getTo());
+        assertEquals(march(2), change.affectedDays(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)));
+    }
+
+    @Test
+    public void beforeAndAfterSpansAreCombined() {
+        // moved from every other day (Mar 2, 4, 6) to a single day on Mar 20
+        EventChange change = new EventChange(1, EventChange.Type.UPDATED)
+                .addSeries(MAR_2, 2, 2)
+                .addSeries(LocalDate.of(2026, 3, 20), 0, 0);
+
+        assertEquals(MAR_2, change.getFrom());
+        assertEquals(LocalDate.of(2026, 3, 20), change.getTo());
+        assertEquals(march(2, 4, 6, 20), change.affectedDays(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)));
+        assertEquals(march(6), change.affectedDays(LocalDate.of(2026, 3, 5), LocalDate.of(2026, 3, 19)));
+    }
+
+    @Test
+    public void noSpansAffectNothing() {
+        EventChange change = new EventChange(1, EventChange.Type.DELETED).addSeries(null, 7, 3);
+
+        assertNull(change.getFrom());
+        assertNull(change.getTo());
+        assertFalse(change.affects(MAR_2));
+        assertTrue(change.affectedDays(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)).isEmpty());
+    }
+
+    @Test
+    public void rangeOutsideTheSpansIsEmpty() {
+        EventChange change = new EventChange(1, EventChange.Type.CREATED).addSeries(MAR_2, 7, 3);
+
+        assertTrue(change.affectedDays(LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 30)).isEmpty());
+        assertTrue(change.affectedDays(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 3, 1)).isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+package calenderApplication.businessLogic;
+
+import calenderApplication.dataLayer.BinarySnapshot;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class EventManagerChangeTest {
+    private static final LocalDate MONTH_START = LocalDate.of(2026, 3, 1);
+    private static final LocalDate MONTH_END = LocalDate.of(2026, 3, 31);
+
+    private static Event event(int id, LocalDateTime start) {
+        Event e = new Event();
+        e.setEventId(id);
+        e.setTitle("Event " + id);
+        e.setDescription("");
+        e.setLocation("Lab");
+        e.setCategory("Work");
+        e.setStartDateTime(start);
+        e.setEndDateTime(start.plusHours(1));
+        return e;
+    }
+
+    private static RecurrentEvent weekly(int id, int times) {
+        RecurrentEvent r = new RecurrentEvent(id, "1w", times, "0");
+        r.setEnabled(true);
+        return r;
+    }
+
+    @Test
+    public void updateReportsTheDaysBeforeAndAfter() {
+        EventManager em = new EventManager(new InMemoryFileIOManager(), new BinarySnapshot(
+                new ArrayList<>(Collections.singletonList(event(1, LocalDateTime.of(2026, 3, 2, 10, 0)))),
+                new ArrayList<>(Collections.singletonList(weekly(1, 3))), new ArrayList<>()));
+        List<EventChange> changes = new ArrayList<>();
+        em.addChangeListener(changes::add);
+
+        assertTrue(em.updateEvent(event(1, LocalDateTime.of(2026, 3, 4, 10, 0)), null));
+
+        assertEquals(1, changes.size());
+        assertEquals(EventChange.Type.UPDATED, changes.get(0).getType());
+        assertEquals(days(2, 4, 9, 11, 16, 18), changes.get(0).affectedDays(MONTH_START, MONTH_END));
+    }
+
+    @Test
+    public void inPlaceEditStillReportsTheOldDay() {
+        EventManager em = new EventManager(new InMemoryFileIOManager(), new BinarySnapshot(
+                new ArrayList<>(Collections.singletonList(event(1, LocalDateTime.of(2026, 3, 2, 10, 0)))),
+                new ArrayList<>(), new ArrayList<>()));
+        List<EventChange> changes = new ArrayList<>();
+        em.addChangeListener(changes::add);
+
+        Event cached = em.getBaseEvent(1);
+        cached.setStartDateTime(LocalDateTime.of(2026, 3, 20, 10, 0));
+        cached.setEndDateTime(LocalDateTime.of(2026, 3, 20, 11, 0));
+        assertTrue(em.updateEvent(cached, null));
+
+        assertEquals(days(2, 20), changes.get(0).affectedDays(MONTH_START, MONTH_END));
+    }
+
+    @Test
+    public void deleteReportsEveryOccurrence() {
+        EventManager em = new EventManager(new InMemoryFileIOManager(), new BinarySnapshot(
+                new ArrayList<>(Collections.singletonList(event(1, LocalDateTime.of(2026, 3, 2, 10, 0)))),
+                new ArrayList<>(Collections.singletonList(weekly(1, 2))), new ArrayList<>()));
+        List<EventChange> changes = new ArrayList<>();
+        em.addChangeListener(changes::add);
+
+        assertTrue(em.deleteEvent(1));
+
+        assertEquals(EventChange.Type.DELETED, changes.get(0).getType());
+        assertEquals(days(2, 9), changes.get(0).affectedDays(MONTH_START, MONTH_END));
+    }
+
+    private static List<LocalDate> days(Integer... daysOfMarch) {
+        List<LocalDate> res = new ArrayList<>();
+        for (int d : Arrays.asList(daysOfMarch)) res.add(LocalDate.of(2026, 3, d));
+        return res;
+    }
+}
@@ -0,0 +1,148 @@
+package calenderApplication.businessLogic;
+
+import calenderApplication.dataLayer.BinarySnapshot;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Readers scan the day index while writers keep moving events between days and switching their
+ * recurrence on and off. Every read must be internally consistent and nothing may throw.
+ */
+public class EventManagerConcurrencyTest {
+    private static final int EVENTS = 200;
+    private static final int WRITERS = 2;
+    private static final int READERS = 3;
+    private static final int UPDATES_PER_WRITER = 2000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 3, 1);
+    private static final int DAYS = 60;
+
+    @Test(timeout = 120_000)
+    public void readsStayConsistentWhileWritersMoveEvents() throws Exception {
+        List<Event> events = new ArrayList<>();
+        List<RecurrentEvent> rules = new ArrayList<>();
+        Random seed = new Random(1);
+        for (int id = 1; id <= EVENTS; id++) {
+            events.add(event(id, seed));
+            if (id % 2 == 0) rules.add(rule(id, true, seed));
+        }
+        EventManager em = new EventManager(new InMemoryFileIOManager(),
+                                           new BinarySnapshot(events, rules, new ArrayList<>()));
+
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < WRITERS; w++) {
+            final int writer = w;
+            threads.add(new Thread(() -> {
+                Random rnd = new Random(100 + writer);
+                try {
+                    for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                        // each writer owns the IDs with its own remainder
+                        int id = 1 + writer + WRITERS * rnd.nextInt(EVENTS / WRITERS);
+                        assertTrue(em.updateEvent(event(id, rnd), rule(id, rnd.nextBoolean(), rnd)));
+                    }
+                } catch (Throwable t) {
+                    failures.add(t);
+                }
+            }, "writer-" + w));
+        }
+        List<Thread> writers = new ArrayList<>(threads);
+
+        for (int r = 0; r < READERS; r++) {
+            final int reader = r;
+            threads.add(new Thread(() -> {
+                Random rnd = new Random(200 + reader);
+                try {
+                    while (writing.get()) readOnce(em, rnd);
+                } catch (Throwable t) {
+                    failures.add(t);
+                }
+            }, "reader-" + r));
+        }
+
+        threads.forEach(Thread::start);
+        for (Thread t : writers) t.join();
+        writing.set(false);
+        for (Thread t : threads) t.join();
+
+        if (!failures.isEmpty()) {
+            AssertionError error = new AssertionError(failures.size() + " failure(s), first: " + failures.peek());
+            error.initCause(failures.peek());
+            throw error;
+        }
+
+        // once quiet, every view of the index agrees
+        int[] occupancy = em.getOccupancy(FIRST_DAY, FIRST_DAY.plusDays(DAYS * 2));
+        for (int i = 0; i < occupancy.length; i++) {
+            LocalDate day = FIRST_DAY.plusDays(i);
+            assertEquals(occupancy[i], em.getEventCountForDate(day));
+            assertEquals(occupancy[i], em.getEventsForDate(day).size());
+        }
+        assertEquals(EVENTS, em.getBaseEventCount());
+    }
+
+    private static void readOnce(EventManager em, Random rnd) {
+        LocalDate day = FIRST_DAY.plusDays(rnd.nextInt(DAYS));
+
+        List<Event> all = checkDay(day, em.getEventsForDate(day));
+        List<Event> slice = checkDay(day, em.getEventsForDate(day, 1, 3));
+        assertTrue(slice.size() <= 3);
+        assertTrue(em.getEventCountForDate(day) >= 0);
+        assertTrue(all.size() >= 0);
+
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = from.plusDays(7);
+        for (Event e : em.getOccurrences(from, to)) assertInRange(e, from, to);
+        List<Event> page = em.getOccurrencesPage(from, to, 0, 20);
+        for (int i = 0; i < page.size(); i++) {
+            assertInRange(page.get(i), from, to);
+            if (i > 0) assertFalse(page.get(i).getStartDateTimeAsLdt().isBefore(page.get(i - 1).getStartDateTimeAsLdt()));
+        }
+        assertEquals(8, em.getOccupancy(day, day.plusDays(7)).length);
+        em.getBaseEvent(1 + rnd.nextInt(EVENTS));
+    }
+
+    private static List<Event> checkDay(LocalDate day, List<Event> events) {
+        for (int i = 0; i < events.size(); i++) {
+            Event e = events.get(i);
+            assertNotNull(e);
+            assertEquals(day, e.getStartDateTimeAsLdt().toLocalDate());
+            if (i > 0) assertFalse(e.getStartDateTimeAsLdt().isBefore(events.get(i - 1).getStartDateTimeAsLdt()));
+        }
+        return events;
+    }
+
+    private static void assertInRange(Event e, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = e.getStartDateTimeAsLdt();
+        assertFalse(start.isBefore(from));
+        assertTrue(start.isBefore(to));
+    }
+
+    private static Event event(int id, Random rnd) {
+        Event e = new Event();
+        e.setEventId(id);
+        e.setTitle("Event " + id);
+        e.setDescription("stress");
+        e.setLocation("Room " + (id % 7));
+        e.setCategory("Work");
+        LocalDateTime start = FIRST_DAY.plusDays(rnd.nextInt(DAYS)).atTime(8 + rnd.nextInt(10), 0);
+        e.setStartDateTime(start);
+        e.setEndDateTime(start.plusMinutes(30));
+        return e;
+    }
+
+    private static RecurrentEvent rule(int id, boolean enabled, Random rnd) {
+        RecurrentEvent r = new RecurrentEvent(id, "1w", 2 + rnd.nextInt(6), "0");
+        r.setEnabled(enabled);
+        return r;
+    }
+}
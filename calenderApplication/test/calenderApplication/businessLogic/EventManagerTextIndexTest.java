@@ -0,0 +1,63 @@
+package calenderApplication.businessLogic;
+
+import calenderApplication.dataLayer.BinarySnapshot;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class EventManagerTextIndexTest {
+
+    private static EventManager managerWith(Event... events) {
+        return new EventManager(new InMemoryFileIOManager(),
+                new BinarySnapshot(new ArrayList<>(Arrays.asList(events)), new ArrayList<>(), new ArrayList<>()));
+    }
+
+    private static Event event(int id, String title, String location) {
+        Event e = new Event();
+        e.setEventId(id);
+        e.setTitle(title);
+        e.setDescription("");
+        e.setLocation(location);
+        e.setCategory("Work");
+        LocalDateTime start = LocalDateTime.of(2026, 3, 2, 9, 0).plusDays(id);
+        e.setStartDateTime(start);
+        e.setEndDateTime(start.plusHours(1));
+        return e;
+    }
+
+    @Test
+    public void updateOfTheCachedInstanceReplacesItsWords() {
+        EventManager em = managerWith(event(1, "Budget review", "Harbour Room"));
+        assertEquals(Collections.singletonList("Budget"), em.completeTitleWord("bud", 0, 10));
+
+        // the caller edits the shared instance in place, then saves it
+        Event cached = em.getBaseEvent(1);
+        cached.setTitle("Planning sync");
+        cached.setLocation("Garden");
+        assertTrue(em.updateEvent(cached, null));
+
+        assertEquals(Collections.emptyList(), em.completeTitleWord("bud", 0, 10));
+        assertEquals(Collections.emptyList(), em.completeLocation("har", 0, 10));
+        assertEquals(Collections.emptyList(), em.findSeriesByTitle("budget"));
+        assertEquals(Collections.singletonList("Planning"), em.completeTitleWord("plan", 0, 10));
+        assertEquals(Collections.singletonList("Garden"), em.completeLocation("gar", 0, 10));
+    }
+
+    @Test
+    public void sharedWordsAreCountedPerEvent() {
+        EventManager em = managerWith(event(1, "Team sync", "Lab"), event(2, "Team lunch", "Lab"));
+        assertEquals(Collections.singletonList("Team"), em.completeTitleWord("tea", 0, 10));
+
+        assertTrue(em.deleteEvent(1));
+        assertEquals(Collections.singletonList("Team"), em.completeTitleWord("tea", 0, 10));
+        assertEquals(Collections.singletonList("Lab"), em.completeLocation("la", 0, 10));
+        assertTrue(em.completeTitleWord("syn", 0, 10).isEmpty());
+
+        assertTrue(em.deleteEvent(2));
+        assertTrue(em.completeTitleWord("tea", 0, 10).isEmpty());
+        assertTrue(em.completeLocation("la", 0, 10).isEmpty());
+    }
+}
@@ -0,0 +1,136 @@
+package calenderApplication.businessLogic;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class EventStatisticsTest {
+    private static final int[] INTERVALS = {0, 1, 2, 3, 5, 7, 10, 14, 30, 45};
+    private static final String[] CATEGORIES = {"Work", "Personal", " Work ", "", null};
+
+    /** Expected aggregates, counted one occurrence at a time. */
+    private static class BruteForce {
+        final long[] perDayOfWeek = new long[7];
+        final Map<String, Long> perCategory = new HashMap<>();
+        final Map<YearMonth, Long> perMonth = new HashMap<>();
+        long minutes = 0;
+        long durations = 0;
+
+        void add(Event base, int intervalDays, int lastIndex, int sign) {
+            int last = intervalDays > 0 ? lastIndex : 0;
+            long length = Duration.between(base.getStartDateTimeAsLdt(), base.getEndDateTimeAsLdt()).toMinutes();
+            for (int k = 0; k <= last; k++) {
+                LocalDateTime start = base.getStartDateTimeAsLdt().plusDays((long) k * intervalDays);
+                perDayOfWeek[start.getDayOfWeek().getValue() - 1] += sign;
+                perCategory.merge(EventStatistics.categoryKey(base.getCategory()), (long) sign, Long::sum);
+                perMonth.merge(YearMonth.from(start), (long) sign, Long::sum);
+                if (length > 0) {
+                    minutes += sign * length;
+                    durations += sign;
+                }
+            }
+            perCategory.values().removeIf(v -> v == 0);
+            perMonth.values().removeIf(v -> v == 0);
+        }
+
+        void assertMatches(EventStatistics stats) {
+            assertArrayEquals(perDayOfWeek, stats.getDayOfWeekCounts());
+            assertEquals(perCategory, stats.getCategoryCounts());
+            for (Map.Entry<YearMonth, Long> m : perMonth.entrySet()) {
+                assertEquals(m.getKey().toString(), (long) m.getValue(), stats.getMonthCount(m.getKey()));
+            }
+            double average = durations == 0 ? 0.0 : (double) minutes / durations;
+            assertEquals(average, stats.getAverageDurationMinutes(), 1e-9);
+        }
+    }
+
+    private static Event event(int id, LocalDateTime start, long minutes, String category) {
+        Event e = new Event();
+        e.setEventId(id);
+        e.setTitle("E" + id);
+        e.setCategory(category);
+        e.setStartDateTime(start);
+        e.setEndDateTime(start.plusMinutes(minutes));
+        return e;
+    }
+
+    private static Event randomEvent(int id, Random rnd) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0)
+                .plusDays(rnd.nextInt(900)).plusMinutes(rnd.nextInt(24 * 60));
+        long minutes = rnd.nextInt(10) == 0 ? -rnd.nextInt(60) : rnd.nextInt(600);
+        return event(id, start, minutes, CATEGORIES[rnd.nextInt(CATEGORIES.length)]);
+    }
+
+    @Test
+    public void closedFormMatchesExpandedOccurrences() {
+        Random rnd = new Random(13);
+        EventStatistics stats = new EventStatistics();
+        BruteForce expected = new BruteForce();
+        for (int id = 1; id <= 300; id++) {
+            Event e = randomEvent(id, rnd);
+            int interval = INTERVALS[rnd.nextInt(INTERVALS.length)];
+            int lastIndex = rnd.nextInt(120);
+            stats.putSeries(e, interval, lastIndex);
+            expected.add(e, interval, lastIndex, 1);
+        }
+        expected.assertMatches(stats);
+    }
+
+    @Test
+    public void replacingAndRemovingSeriesSubtractsTheirShare() {
+        Random rnd = new Random(7);
+        EventStatistics stats = new EventStatistics();
+        BruteForce expected = new BruteForce();
+        Event[] events = new Event[50];
+        int[] intervals = new int[events.length];
+        int[] lastIndexes = new int[events.length];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = randomEvent(i + 1, rnd);
+            intervals[i] = INTERVALS[rnd.nextInt(INTERVALS.length)];
+            lastIndexes[i] = rnd.nextInt(60);
+            stats.putSeries(events[i], intervals[i], lastIndexes[i]);
+            expected.add(events[i], intervals[i], lastIndexes[i], 1);
+        }
+        for (int i = 0; i < events.length; i++) {
+            expected.add(events[i], intervals[i], lastIndexes[i], -1);
+            if (i % 2 == 0) {
+                stats.removeSeries(i + 1);
+            } else {
+                // putSeries with the same ID replaces the old contribution
+                events[i] = randomEvent(i + 1, rnd);
+                intervals[i] = INTERVALS[rnd.nextInt(INTERVALS.length)];
+                stats.putSeries(events[i], intervals[i], lastIndexes[i]);
+                expected.add(events[i], intervals[i], lastIndexes[i], 1);
+            }
+        }
+        expected.assertMatches(stats);
+
+        for (int i = 1; i < events.length; i += 2) stats.removeSeries(i + 1);
+        assertArrayEquals(new long[7], stats.getDayOfWeekCounts());
+        assertTrue(stats.getCategoryCounts().isEmpty());
+        assertEquals(0.0, stats.getAverageDurationMinutes(), 0.0);
+    }
+
+    @Test
+    public void monthsAcrossYearEndAndLeapDay() {
+        EventStatistics stats = new EventStatistics();
+        BruteForce expected = new BruteForce();
+        // daily from Dec 30 late evening, through a leap February
+        Event daily = event(1, LocalDateTime.of(2027, 12, 30, 23, 45), 30, "Work");
+        stats.putSeries(daily, 1, 70);
+        expected.add(daily, 1, 70, 1);
+        // every 29 days from Jan 31
+        Event stepped = event(2, LocalDateTime.of(2028, 1, 31, 12, 0), 60, "Personal");
+        stats.putSeries(stepped, 29, 12);
+        expected.add(stepped, 29, 12, 1);
+
+        expected.assertMatches(stats);
+        assertEquals(29 + 1, stats.getMonthCount(YearMonth.of(2028, 2)));
+        assertEquals(0, stats.getMonthCount(YearMonth.of(2027, 11)));
+    }
+}
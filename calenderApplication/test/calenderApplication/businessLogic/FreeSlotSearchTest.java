@@ -0,0 +1,127 @@
+package calenderApplication.businessLogic;
+
+import calenderApplication.dataLayer.BinarySnapshot;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FreeSlotSearchTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+    private static final LocalDateTime LONG_START = LocalDateTime.of(2026, 2, 20, 8, 0);
+
+    private static Event event(int id, LocalDateTime start, LocalDateTime end) {
+        Event e = new Event();
+        e.setEventId(id);
+        e.setTitle("Busy " + id);
+        e.setDescription("");
+        e.setLocation("Lab");
+        e.setCategory("Work");
+        e.setStartDateTime(start);
+        e.setEndDateTime(end);
+        return e;
+    }
+
+    private static Event at(int id, int fromHour, int toHour) {
+        return event(id, DAY.atTime(fromHour, 0), DAY.atTime(toHour, 0));
+    }
+
+    /** 9-10 and 10-11 touch, 13-14, and a trip from Feb 20 that runs until 08:30 on DAY. */
+    private static EventManager manager(List<RecurrentEvent> rules, Event... extra) {
+        List<Event> events = new ArrayList<>(Arrays.asList(at(1, 9, 10), at(2, 10, 11), at(3, 13, 14),
+                event(4, LONG_START, DAY.atTime(8, 30))));
+        events.addAll(Arrays.asList(extra));
+        return new EventManager(new InMemoryFileIOManager(), new BinarySnapshot(events, rules, new ArrayList<>()));
+    }
+
+    private static List<String> slots(List<FreeSlot> slots) {
+        List<String> res = new ArrayList<>();
+        for (FreeSlot s : slots) res.add(s.toString());
+        return res;
+    }
+
+    private static String slot(LocalDateTime start, LocalDateTime end) {
+        return new FreeSlot(start, end).toString();
+    }
+
+    @Test
+    public void gapsBetweenBusyTimeIncludingEventsRunningAtFrom() {
+        SearchManager search = new SearchManager(manager(new ArrayList<>()));
+        List<FreeSlot> found = search.findFreeSlots(Duration.ofMinutes(30), DAY.atStartOfDay(),
+                DAY.plusDays(1).atStartOfDay(), null, null, 10);
+
+        // nothing before 08:30 (the trip), nothing between the touching 9-10 and 10-11
+        assertEquals(Arrays.asList(
+                slot(DAY.atTime(8, 30), DAY.atTime(9, 0)),
+                slot(DAY.atTime(11, 0), DAY.atTime(13, 0)),
+                slot(DAY.atTime(14, 0), DAY.plusDays(1).atStartOfDay())), slots(found));
+    }
+
+    @Test
+    public void tooShortGapsAndCountLimit() {
+        SearchManager search = new SearchManager(manager(new ArrayList<>()));
+        LocalDateTime from = DAY.atStartOfDay();
+        LocalDateTime to = DAY.plusDays(1).atStartOfDay();
+
+        assertEquals(Arrays.asList(
+                slot(DAY.atTime(11, 0), DAY.atTime(13, 0)),
+                slot(DAY.atTime(14, 0), to)),
+                slots(search.findFreeSlots(Duration.ofMinutes(45), from, to, null, null, 10)));
+        assertEquals(Arrays.asList(slot(DAY.atTime(8, 30), DAY.atTime(9, 0))),
+                slots(search.findFreeSlots(Duration.ofMinutes(30), from, to, null, null, 1)));
+        assertTrue(search.findFreeSlots(Duration.ofMinutes(30), from, to, null, null, 0).isEmpty());
+        assertTrue(search.findFreeSlots(Duration.ofMinutes(30), to, from, null, null, 5).isEmpty());
+    }
+
+    @Test
+    public void workingHoursClipEachDay() {
+        SearchManager search = new SearchManager(manager(new ArrayList<>()));
+        List<FreeSlot> found = search.findFreeSlots(Duration.ofHours(1), DAY.atStartOfDay(),
+                DAY.plusDays(2).atStartOfDay(), LocalTime.of(9, 0), LocalTime.of(17, 0), 10);
+
+        assertEquals(Arrays.asList(
+                slot(DAY.atTime(11, 0), DAY.atTime(13, 0)),
+                slot(DAY.atTime(14, 0), DAY.atTime(17, 0)),
+                slot(DAY.plusDays(1).atTime(9, 0), DAY.plusDays(1).atTime(17, 0))), slots(found));
+    }
+
+    @Test
+    public void recurrencesAreBusyToo() {
+        RecurrentEvent daily = new RecurrentEvent(5, "1d", 5, "0");
+        daily.setEnabled(true);
+        // lunch every day from the day before, 12:00-12:30
+        Event lunch = event(5, DAY.minusDays(1).atTime(12, 0), DAY.minusDays(1).atTime(12, 30));
+        SearchManager search = new SearchManager(manager(new ArrayList<>(Arrays.asList(daily)), lunch));
+
+        List<FreeSlot> found = search.findFreeSlots(Duration.ofMinutes(30), DAY.atTime(11, 0),
+                DAY.atTime(14, 0), null, null, 10);
+        assertEquals(Arrays.asList(
+                slot(DAY.atTime(11, 0), DAY.atTime(12, 0)),
+                slot(DAY.atTime(12, 30), DAY.atTime(13, 0))), slots(found));
+    }
+
+    @Test
+    public void lookBackShrinksWhenTheLongEventGoes() {
+        EventManager em = manager(new ArrayList<>());
+        long trip = Duration.between(LONG_START, DAY.atTime(8, 30)).getSeconds();
+        assertEquals(trip, em.getLongestDurationSeconds());
+
+        // shortened: the bound follows the new length
+        assertTrue(em.updateEvent(event(4, DAY.atTime(6, 0), DAY.atTime(8, 30)), null));
+        assertEquals(Duration.ofMinutes(150).getSeconds(), em.getLongestDurationSeconds());
+
+        assertTrue(em.deleteEvent(4));
+        assertEquals(Duration.ofHours(1).getSeconds(), em.getLongestDurationSeconds());
+        List<FreeSlot> found = new SearchManager(em).findFreeSlots(Duration.ofMinutes(30), DAY.atStartOfDay(),
+                DAY.atTime(9, 0), null, null, 10);
+        assertEquals(Arrays.asList(slot(DAY.atStartOfDay(), DAY.atTime(9, 0))), slots(found));
+
+        for (int id = 1; id <= 3; id++) assertTrue(em.deleteEvent(id));
+        assertEquals(0, em.getLongestDurationSeconds());
+    }
+}
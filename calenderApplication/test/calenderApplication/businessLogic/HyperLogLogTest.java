@@ -0,0 +1,50 @@
+package calenderApplication.businessLogic;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class HyperLogLogTest {
+    // standard error of 2^12 registers
+    private static final double STANDARD_ERROR = 1.04 / Math.sqrt(1 << 12);
+
+    private static HyperLogLog of(String prefix, int from, int to) {
+        HyperLogLog h = new HyperLogLog();
+        for (int i = from; i < to; i++) h.add(prefix + i);
+        return h;
+    }
+
+    @Test
+    public void estimatesStayWithinThreeStandardErrors() {
+        for (int n : new int[]{1_000, 5_000, 10_000, 50_000, 200_000, 1_000_000}) {
+            long estimate = of("location-", 0, n).estimate();
+            assertEquals("n=" + n, n, estimate, 3 * STANDARD_ERROR * n);
+        }
+    }
+
+    @Test
+    public void smallCountsAreNearlyExact() {
+        assertEquals(0, new HyperLogLog().estimate());
+        for (int n : new int[]{1, 2, 10, 50, 200}) {
+            assertEquals("n=" + n, n, of("Room ", 0, n).estimate(), Math.max(1, n * 0.02));
+        }
+    }
+
+    @Test
+    public void duplicatesAndNullsDoNotCount() {
+        HyperLogLog h = of("a", 0, 500);
+        long once = h.estimate();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 500; i++) h.add("a" + i);
+        }
+        h.add(null);
+        assertEquals(once, h.estimate());
+    }
+
+    @Test
+    public void mergeIsTheSketchOfTheUnion() {
+        HyperLogLog left = of("x", 0, 30_000);
+        HyperLogLog right = of("x", 20_000, 60_000);
+        left.merge(right);
+        assertEquals(of("x", 0, 60_000).estimate(), left.estimate());
+    }
+}
@@ -0,0 +1,42 @@
+package calenderApplication.businessLogic;
+
+import calenderApplication.dataLayer.BinarySnapshot;
+import calenderApplication.dataLayer.FileIOManager;
+import java.util.ArrayList;
+
+/**
+ * FileIOManager that keeps nothing on disk, for tests that only exercise the in-memory side of
+ * EventManager. Build the EventManager with snapshot() (or a snapshot of preloaded events) so
+ * loadSnapshot never reads the working directory.
+ */
+public class InMemoryFileIOManager extends FileIOManager {
+
+    public InMemoryFileIOManager() {
+        super(true);
+    }
+
+    public static BinarySnapshot snapshot() {
+        return new BinarySnapshot(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    }
+
+    @Override
+    public synchronized BinarySnapshot loadSnapshot() { return snapshot(); }
+
+    @Override
+    public synchronized void writeEventToCsv(Event event) { }
+
+    @Override
+    public synchronized void writeRecurrentEventToCsv(RecurrentEvent rc) { }
+
+    @Override
+    public synchronized boolean updateEventInCsv(Event updatedEvent) { return true; }
+
+    @Override
+    public synchronized boolean deleteEventFromCsv(int eventId) { return true; }
+
+    @Override
+    public synchronized boolean updateRecurrentEventInCsv(RecurrentEvent updatedRc) { return true; }
+
+    @Override
+    public synchronized boolean deleteRecurrentEventFromCsv(int eventId) { return true; }
+}
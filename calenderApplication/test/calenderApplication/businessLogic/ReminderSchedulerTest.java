@@ -0,0 +1,119 @@
+package calenderApplication.businessLogic;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ReminderSchedulerTest {
+    private final BlockingQueue<Integer> fired = new LinkedBlockingQueue<>();
+    private ReminderScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new ReminderScheduler(fired::add);
+        scheduler.start();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.stop();
+    }
+
+    private static LocalDateTime inMillis(long ms) {
+        return LocalDateTime.now().plusNanos(ms * 1_000_000);
+    }
+
+    private Integer next(long timeoutMs) throws InterruptedException {
+        return fired.poll(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(timeout = 10_000)
+    public void firesInTimeOrder() throws InterruptedException {
+        scheduler.schedule(3, inMillis(300));
+        scheduler.schedule(1, inMillis(100));
+        scheduler.schedule(2, inMillis(200));
+
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 3; i++) order.add(next(5_000));
+        assertEquals(Arrays.asList(1, 2, 3), order);
+        assertNull(next(200));
+    }
+
+    @Test(timeout = 10_000)
+    public void pastReminderFiresRightAway() throws InterruptedException {
+        long t0 = System.nanoTime();
+        scheduler.schedule(5, LocalDateTime.now().minusHours(1));
+        assertEquals(Integer.valueOf(5), next(5_000));
+        assertTrue(System.nanoTime() - t0 < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test(timeout = 10_000)
+    public void earlierRescheduleWakesTheSleepingThread() throws InterruptedException {
+        scheduler.schedule(1, inMillis(60_000));
+        Thread.sleep(100); // the worker is now waiting for the far-away head
+        long t0 = System.nanoTime();
+        scheduler.schedule(1, inMillis(100));
+        assertEquals(Integer.valueOf(1), next(5_000));
+        assertTrue(System.nanoTime() - t0 < TimeUnit.SECONDS.toNanos(2));
+        assertNull(next(200)); // the superseded 60 s entry never fires
+    }
+
+    @Test(timeout = 10_000)
+    public void laterRescheduleDropsTheOldTime() throws InterruptedException {
+        long t0 = System.nanoTime();
+        scheduler.schedule(1, inMillis(100));
+        scheduler.schedule(1, inMillis(500));
+        assertEquals(Integer.valueOf(1), next(5_000));
+        assertTrue(System.nanoTime() - t0 >= TimeUnit.MILLISECONDS.toNanos(450));
+        assertNull(next(300));
+    }
+
+    @Test(timeout = 10_000)
+    public void cancelledReminderDoesNotFire() throws InterruptedException {
+        scheduler.schedule(1, inMillis(150));
+        scheduler.schedule(2, inMillis(250));
+        scheduler.cancel(1);
+        scheduler.cancel(42); // unknown IDs are ignored
+
+        assertEquals(Integer.valueOf(2), next(5_000));
+        assertNull(next(300));
+    }
+
+    @Test(timeout = 10_000)
+    public void staleEntriesDoNotPileUp() throws InterruptedException {
+        for (int i = 0; i < 1_000; i++) scheduler.schedule(1, inMillis(60_000 + i));
+        assertTrue(scheduler.queuedEntries() <= 2 * 1 + 16 + 1);
+
+        scheduler.schedule(1, inMillis(100));
+        assertEquals(Integer.valueOf(1), next(5_000));
+        assertNull(next(300));
+    }
+
+    @Test(timeout = 10_000)
+    public void failingCallbackDoesNotStopTheScheduler() throws InterruptedException {
+        scheduler.stop();
+        scheduler = new ReminderScheduler(id -> {
+            if (id == 1) throw new IllegalStateException("boom");
+            fired.add(id);
+        });
+        scheduler.start();
+        scheduler.schedule(1, inMillis(50));
+        scheduler.schedule(2, inMillis(150));
+        assertEquals(Integer.valueOf(2), next(5_000));
+    }
+
+    @Test(timeout = 10_000)
+    public void stoppedSchedulerFiresNothing() throws InterruptedException {
+        scheduler.schedule(1, inMillis(200));
+        scheduler.stop();
+        assertNull(next(500));
+    }
+}
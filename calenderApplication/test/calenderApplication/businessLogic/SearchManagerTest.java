@@ -0,0 +1,120 @@
+package calenderApplication.businessLogic;
+
+import calenderApplication.dataLayer.BinarySnapshot;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SearchManagerTest {
+
+    private static SearchManager searchOver(int count) {
+        List<Event> events = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            Event e = new Event();
+            e.setEventId(id);
+            e.setTitle("Standup " + id);
+            e.setDescription("");
+            e.setLocation("Office");
+            e.setCategory(id % 2 == 0 ? "Work" : "Personal");
+            LocalDateTime start = LocalDateTime.of(2026, 4, 1, 9, 0).plusDays(id);
+            e.setStartDateTime(start);
+            e.setEndDateTime(start.plusMinutes(15));
+            events.add(e);
+        }
+        EventManager manager = new EventManager(new InMemoryFileIOManager(),
+                new BinarySnapshot(events, new ArrayList<>(), new ArrayList<>()));
+        return new SearchManager(manager);
+    }
+
+    @Test
+    public void limitedSearchLeavesQueryUnchanged() {
+        SearchManager search = searchOver(10);
+        EventQuery query = new EventQuery().withCategory("Work");
+
+        List<Event> firstTwo = search.search(query, 2);
+        assertEquals(2, firstTwo.size());
+        assertEquals(2, firstTwo.get(0).getEventId());
+        assertEquals(4, firstTwo.get(1).getEventId());
+
+        assertEquals(Integer.MAX_VALUE, query.getLimit());
+        assertEquals(5, search.search(query).count());
+    }
+
+    @Test
+    public void limitReplacesTheQueryLimit() {
+        SearchManager search = searchOver(10);
+        EventQuery query = new EventQuery().withKeyword("standup").limit(3);
+
+        assertEquals(3, search.search(query).count());
+        assertEquals(6, search.search(query, 6).size());
+        assertEquals(0, search.search(query, -1).size());
+        assertEquals(3, query.getLimit());
+    }
+
+    private static Event event(int id, String title, LocalDateTime start) {
+        Event e = new Event();
+        e.setEventId(id);
+        e.setTitle(title);
+        e.setDescription("");
+        e.setLocation("Office");
+        e.setCategory("Work");
+        e.setStartDateTime(start);
+        e.setEndDateTime(start.plusHours(1));
+        return e;
+    }
+
+    private static RecurrentEvent weekly(int id, int times) {
+        RecurrentEvent rule = new RecurrentEvent(id, "1w", times, "0");
+        rule.setEnabled(true);
+        return rule;
+    }
+
+    private static List<String> describe(List<Event> events) {
+        List<String> res = new ArrayList<>();
+        for (Event e : events) res.add(e.getEventId() + " " + e.getTitle() + " " + e.getStartDateTimeAsLdt());
+        return res;
+    }
+
+    /** The filter searchEventsByTitle used to run: every base event, then each series' copies. */
+    private static List<String> expandedFilter(List<Event> bases, List<RecurrentEvent> rules, String keyword) {
+        String k = keyword.trim().toLowerCase();
+        List<Event> all = new ArrayList<>(bases);
+        for (Event base : bases) {
+            for (RecurrentEvent rule : rules) {
+                if (rule.getEventId() != base.getEventId()) continue;
+                for (int i = 1; i < rule.getRecurrentTimes(); i++) {
+                    all.add(event(base.getEventId(), base.getTitle() + " (R)", base.getStartDateTimeAsLdt().plusWeeks(i)));
+                }
+            }
+        }
+        List<Event> res = new ArrayList<>();
+        for (Event e : all) {
+            if (e.getTitle().toLowerCase().contains(k)) res.add(e);
+        }
+        return describe(res);
+    }
+
+    @Test
+    public void titleSearchMatchesTheExpandedTitles() {
+        LocalDateTime monday = LocalDateTime.of(2026, 3, 2, 9, 0);
+        // series 3 starts before series 1, so start-time order would differ from this one
+        List<Event> bases = Arrays.asList(event(1, "Team sync", monday.plusDays(2)), event(2, "Dentist", monday),
+                event(3, "Sync (r&d)", monday.minusDays(1)), event(4, "Gym", monday.plusHours(3)));
+        List<RecurrentEvent> rules = Arrays.asList(weekly(1, 3), weekly(3, 2), weekly(4, 4));
+        SearchManager search = new SearchManager(new EventManager(new InMemoryFileIOManager(),
+                new BinarySnapshot(new ArrayList<>(bases), new ArrayList<>(rules), new ArrayList<>())));
+
+        for (String keyword : new String[]{"sync", "SYNC", "t", "", "  ", "(r", "(R)", "r)", " (", "m (", "gym (r)",
+                                           ")", "r", "d)", "nc", "zzz", "dentist (r)"}) {
+            assertEquals("'" + keyword + "'", expandedFilter(bases, rules, keyword),
+                    describe(search.searchEventsByTitle(keyword)));
+        }
+        // only the copies carry the marker: two of "Team sync", none of "Sync (r&d)"'s base
+        List<Event> copies = search.searchEventsByTitle("sync (r)");
+        assertEquals(2, copies.size());
+        for (Event e : copies) assertEquals("Team sync (R)", e.getTitle());
+    }
+}
@@ -0,0 +1,109 @@
+package calenderApplication.businessLogic;
+
+import calenderApplication.dataLayer.BinarySnapshot;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class StatisticsReportTest {
+    private static final String[] INTERVALS = {"1d", "1w", "2w", "4w"};
+    private static final String[] CATEGORIES = {"Work", "Personal", " work ", "", null};
+
+    /** About 200 series, a third of them recurring, spread over 2027-2029 (2028 is a leap year). */
+    private static EventManager randomCalendar(long seed) {
+        Random rnd = new Random(seed);
+        List<Event> events = new ArrayList<>();
+        List<RecurrentEvent> rules = new ArrayList<>();
+        for (int id = 1; id <= 200; id++) {
+            Event e = new Event();
+            e.setEventId(id);
+            e.setTitle("E" + id);
+            e.setCategory(CATEGORIES[rnd.nextInt(CATEGORIES.length)]);
+            LocalDateTime start = LocalDateTime.of(2027, 1, 1, 0, 0)
+                    .plusDays(rnd.nextInt(3 * 365)).plusMinutes(rnd.nextInt(24 * 60));
+            e.setStartDateTime(start);
+            // a few have no positive duration, which the average leaves out
+            e.setEndDateTime(start.plusMinutes(rnd.nextInt(8) == 0 ? 0 : 1 + rnd.nextInt(300)));
+            events.add(e);
+            if (id % 3 == 0) {
+                RecurrentEvent rule = new RecurrentEvent(id, INTERVALS[rnd.nextInt(INTERVALS.length)], 2 + rnd.nextInt(200), "0");
+                rule.setEnabled(true);
+                rules.add(rule);
+            }
+        }
+        return new EventManager(new InMemoryFileIOManager(), new BinarySnapshot(events, rules, new ArrayList<>()));
+    }
+
+    /** The same numbers, folded one occurrence at a time from getOccurrences. */
+    private static void assertMatchesFold(EventManager em, LocalDate from, LocalDate to, StatisticsReport report) {
+        long[] perDay = new long[7];
+        Map<String, Long> perCategory = new HashMap<>();
+        Map<YearMonth, Long> perMonth = new TreeMap<>();
+        long minutes = 0;
+        long durations = 0;
+        for (Event e : em.getOccurrences(from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            LocalDateTime start = e.getStartDateTimeAsLdt();
+            perDay[start.getDayOfWeek().getValue() - 1]++;
+            perCategory.merge(EventStatistics.categoryKey(e.getCategory()), 1L, Long::sum);
+            perMonth.merge(YearMonth.from(start), 1L, Long::sum);
+            long m = Duration.between(start, e.getEndDateTimeAsLdt()).toMinutes();
+            if (m > 0) {
+                minutes += m;
+                durations++;
+            }
+        }
+
+        long total = 0;
+        for (DayOfWeek d : DayOfWeek.values()) {
+            assertEquals(d.toString(), perDay[d.getValue() - 1], report.getDayOfWeekCount(d));
+            total += perDay[d.getValue() - 1];
+        }
+        assertEquals(total, report.getTotalCount());
+        assertEquals(perCategory, report.getCategoryCounts());
+        assertEquals(new ArrayList<>(perMonth.entrySet()), new ArrayList<>(report.getMonthCounts().entrySet()));
+        assertEquals(durations == 0 ? 0.0 : (double) minutes / durations, report.getAverageDurationMinutes(), 1e-9);
+    }
+
+    @Test
+    public void forkJoinReportEqualsTheSequentialFold() {
+        EventManager em = randomCalendar(20);
+        StatisticManager stats = new StatisticManager(em);
+        // whole range, a window starting and ending mid-month, one leaf, and a single day
+        LocalDate[][] windows = {
+            {LocalDate.of(2026, 12, 1), LocalDate.of(2031, 6, 30)},
+            {LocalDate.of(2027, 3, 17), LocalDate.of(2028, 9, 2)},
+            {LocalDate.of(2028, 2, 1), LocalDate.of(2028, 3, 2)},
+            {LocalDate.of(2028, 2, 29), LocalDate.of(2028, 2, 29)},
+        };
+        for (LocalDate[] w : windows) {
+            int days = (int) (w[1].toEpochDay() - w[0].toEpochDay() + 1);
+            StatisticsReport parallel = stats.report(w[0], days, true);
+            assertMatchesFold(em, w[0], w[1], parallel);
+            assertMatchesFold(em, w[0], w[1], stats.report(w[0], days, false));
+            assertMatchesFold(em, w[0], w[1], stats.getReport(w[0], w[1]));
+        }
+    }
+
+    @Test
+    public void emptyOrReversedWindows() {
+        StatisticManager stats = new StatisticManager(randomCalendar(3));
+        StatisticsReport none = stats.getReport(LocalDate.of(2028, 1, 2), LocalDate.of(2028, 1, 1));
+        assertEquals(0, none.getTotalCount());
+        assertTrue(none.getMonthCounts().isEmpty());
+        assertEquals(DayOfWeek.MONDAY, none.getBusiestDay());
+
+        StatisticsReport before = stats.getReport(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+        assertEquals(0, before.getTotalCount());
+        assertEquals(0.0, before.getAverageDurationMinutes(), 0.0);
+    }
+}
@@ -0,0 +1,98 @@
+package calenderApplication.businessLogic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TitleIndexTest {
+    // few letters, mixed case and a non-ASCII one, so short grams repeat a lot
+    private static final String ALPHABET = "abcABC xyzÄä";
+
+    private static String randomTitle(Random rnd) {
+        StringBuilder sb = new StringBuilder();
+        int len = rnd.nextInt(12);
+        for (int i = 0; i < len; i++) sb.append(ALPHABET.charAt(rnd.nextInt(ALPHABET.length())));
+        return sb.toString();
+    }
+
+    /** The plain filter the index replaces. */
+    private static List<Integer> bruteForce(Map<Integer, String> titles, String keyword) {
+        String k = keyword.trim().toLowerCase();
+        List<Integer> res = new ArrayList<>();
+        for (int id = 0; id < 1000; id++) {
+            String t = titles.get(id);
+            if (t != null && t.toLowerCase().contains(k)) res.add(id);
+        }
+        return res;
+    }
+
+    private static void assertSameAsBruteForce(TitleIndex index, Map<Integer, String> titles, Random rnd) {
+        for (int len = 1; len <= 6; len++) {
+            for (int q = 0; q < 60; q++) {
+                String keyword = randomTitle(rnd) + "aaaaaa";
+                keyword = keyword.substring(0, len);
+                // the query may come in any case
+                keyword = rnd.nextBoolean() ? keyword.toUpperCase() : keyword;
+                assertEquals("'" + keyword + "'", bruteForce(titles, keyword), index.search(keyword));
+            }
+        }
+    }
+
+    @Test
+    public void shortAndLongKeywordsMatchTheSubstringFilter() {
+        Random rnd = new Random(11);
+        TitleIndex index = new TitleIndex();
+        Map<Integer, String> titles = new HashMap<>();
+        for (int id = 0; id < 400; id++) {
+            String t = randomTitle(rnd);
+            titles.put(id, t);
+            index.put(id, t);
+        }
+        assertSameAsBruteForce(index, titles, rnd);
+    }
+
+    @Test
+    public void reindexAndRemoveKeepTheIndexExact() {
+        Random rnd = new Random(5);
+        TitleIndex index = new TitleIndex();
+        Map<Integer, String> titles = new HashMap<>();
+        for (int step = 0; step < 3000; step++) {
+            int id = rnd.nextInt(300);
+            if (rnd.nextInt(4) == 0) {
+                titles.remove(id);
+                index.remove(id);
+            } else {
+                String t = randomTitle(rnd);
+                titles.put(id, t);
+                index.put(id, t);
+            }
+        }
+        assertSameAsBruteForce(index, titles, rnd);
+    }
+
+    @Test
+    public void trigramsPresentButNotAdjacentAreRejected() {
+        TitleIndex index = new TitleIndex();
+        // has "abc" and "bcd" but not "abcd"
+        index.put(1, "abc-bcd");
+        index.put(2, "xABCDx");
+        assertEquals(List.of(2), index.search("abcd"));
+        assertEquals(List.of(1, 2), index.search("BC"));
+        assertEquals(List.of(1, 2), index.search("c"));
+    }
+
+    @Test
+    public void blankKeywordMatchesEveryTitle() {
+        TitleIndex index = new TitleIndex();
+        index.put(3, "Gym");
+        index.put(1, null);
+        index.put(2, "");
+        assertEquals(List.of(1, 2, 3), index.search("  "));
+        assertEquals(List.of(1, 2, 3), index.search(null));
+        assertEquals(List.of(), index.search("x"));
+    }
+}
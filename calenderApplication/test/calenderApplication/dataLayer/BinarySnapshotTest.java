@@ -0,0 +1,210 @@
+package calenderApplication.dataLayer;
+
+import calenderApplication.businessLogic.Event;
+import calenderApplication.businessLogic.RecurrentEvent;
+import calenderApplication.businessLogic.ReminderConfig;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class BinarySnapshotTest {
+    private static final long[] FINGERPRINT = {120, 1_700_000_000_000L, 0, 0, 45, 1_700_000_000_500L};
+
+    @Rule
+    public TemporaryFolder dir = new TemporaryFolder();
+
+    private Path snap;
+
+    @Before
+    public void setUp() {
+        snap = dir.getRoot().toPath().resolve("calendar.snap");
+    }
+
+    private static Event event(int id, String title, String description, LocalDateTime start, String location, String category) {
+        Event e = new Event();
+        e.setEventId(id);
+        e.setTitle(title);
+        e.setDescription(description);
+        e.setStartDateTime(start);
+        e.setEndDateTime(start == null ? null : start.plusMinutes(90));
+        e.setLocation(location);
+        e.setCategory(category);
+        return e;
+    }
+
+    private static BinarySnapshot sample() {
+        List<Event> events = new ArrayList<>(Arrays.asList(
+                event(1, "Standup", "daily", LocalDateTime.of(2026, 3, 2, 9, 15), "Room 1", "Work"),
+                event(7, "组会 ✓", null, LocalDateTime.of(1969, 12, 31, 23, 59), null, "Work"),
+                event(9, "", "", null, "Room 1", "")));
+        List<RecurrentEvent> rules = new ArrayList<>(Arrays.asList(
+                new RecurrentEvent(1, "1d", 0, "2026-06-30"),
+                new RecurrentEvent(7, "2w", 5, "0")));
+        List<ReminderConfig> reminders = new ArrayList<>(Arrays.asList(
+                new ReminderConfig(1, Duration.ofMinutes(15), true),
+                new ReminderConfig(9, Duration.ofSeconds(90, 500), false)));
+        return new BinarySnapshot(events, rules, reminders);
+    }
+
+    static void assertSameTables(BinarySnapshot expected, BinarySnapshot actual) {
+        assertEquals(expected.getEvents().size(), actual.getEvents().size());
+        for (int i = 0; i < expected.getEvents().size(); i++) {
+            Event a = expected.getEvents().get(i);
+            Event b = actual.getEvents().get(i);
+            assertEquals(a.getEventId(), b.getEventId());
+            assertEquals(a.getTitle(), b.getTitle());
+            assertEquals(a.getDescription(), b.getDescription());
+            assertEquals(a.getStartDateTimeAsLdt(), b.getStartDateTimeAsLdt());
+            assertEquals(a.getEndDateTimeAsLdt(), b.getEndDateTimeAsLdt());
+            assertEquals(a.getLocation(), b.getLocation());
+            assertEquals(a.getCategory(), b.getCategory());
+        }
+        assertEquals(expected.getRules().size(), actual.getRules().size());
+        for (int i = 0; i < expected.getRules().size(); i++) {
+            RecurrentEvent a = expected.getRules().get(i);
+            RecurrentEvent b = actual.getRules().get(i);
+            assertEquals(a.getEventId(), b.getEventId());
+            assertEquals(a.getRecurrentInterval(), b.getRecurrentInterval());
+            assertEquals(a.getRecurrentTimes(), b.getRecurrentTimes());
+            assertEquals(a.getRecurrentEndDate(), b.getRecurrentEndDate());
+            assertTrue(b.isEnabled());
+        }
+        assertEquals(expected.getReminders().size(), actual.getReminders().size());
+        for (int i = 0; i < expected.getReminders().size(); i++) {
+            ReminderConfig a = expected.getReminders().get(i);
+            ReminderConfig b = actual.getReminders().get(i);
+            assertEquals(a.getEventId(), b.getEventId());
+            assertEquals(a.getRemindDuration(), b.getRemindDuration());
+            assertEquals(a.isEnable(), b.isEnable());
+        }
+    }
+
+    @Test
+    public void writeThenReadGivesTheSameTables() {
+        BinarySnapshot original = sample();
+        assertTrue(original.write(snap.toString(), FINGERPRINT));
+        assertSameTables(original, BinarySnapshot.read(snap.toString(), FINGERPRINT));
+        assertFalse(Files.exists(dir.getRoot().toPath().resolve("calendar.snap.tmp")));
+    }
+
+    @Test
+    public void emptyTablesRoundTrip() {
+        BinarySnapshot empty = new BinarySnapshot(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        assertTrue(empty.write(snap.toString(), FINGERPRINT));
+        assertSameTables(empty, BinarySnapshot.read(snap.toString(), FINGERPRINT));
+    }
+
+    @Test
+    public void anyFlippedByteIsRejected() throws IOException {
+        assertTrue(sample().write(snap.toString(), FINGERPRINT));
+        byte[] good = Files.readAllBytes(snap);
+        for (int i = 0; i < good.length; i += 7) {
+            byte[] bad = good.clone();
+            bad[i] ^= 0x10;
+            Files.write(snap, bad);
+            assertNull("byte " + i, BinarySnapshot.read(snap.toString(), FINGERPRINT));
+        }
+        Files.write(snap, Arrays.copyOf(good, good.length - 3));
+        assertNull(BinarySnapshot.read(snap.toString(), FINGERPRINT));
+    }
+
+    @Test
+    public void otherFingerprintOrMissingFileGivesNull() {
+        assertNull(BinarySnapshot.read(snap.toString(), FINGERPRINT));
+        assertTrue(sample().write(snap.toString(), FINGERPRINT));
+
+        long[] touched = FINGERPRINT.clone();
+        touched[1]++;
+        assertNull(BinarySnapshot.read(snap.toString(), touched));
+        assertNull(BinarySnapshot.read(snap.toString(), Arrays.copyOf(FINGERPRINT, 4)));
+    }
+
+    @Test
+    public void secondsCannotBeStored() {
+        BinarySnapshot withSeconds = new BinarySnapshot(new ArrayList<>(Arrays.asList(
+                event(1, "t", "d", LocalDateTime.of(2026, 3, 2, 9, 15, 30), "l", "c"))),
+                new ArrayList<>(), new ArrayList<>());
+        assertFalse(withSeconds.write(snap.toString(), FINGERPRINT));
+        assertFalse(Files.exists(snap));
+    }
+
+    // --- through FileIOManager.loadSnapshot, on CSV files in the temp folder ---
+
+    private Path file(String name) {
+        return dir.getRoot().toPath().resolve(name);
+    }
+
+    private void writeCsvs(String... eventLines) throws IOException {
+        Files.write(file("event.csv"), Arrays.asList(eventLines));
+        Files.write(file("recurrent.csv"), Arrays.asList("1|1w|4|0"));
+        Files.write(file("reminder.csv"), Arrays.asList("1|PT10M|true", "1|PT20M|true", "2|PT5M|false"));
+    }
+
+    private BinarySnapshot load() {
+        return new FileIOManager(false, dir.getRoot().toString()).loadSnapshot();
+    }
+
+    private long[] currentFingerprint() {
+        return BinarySnapshot.fingerprint(file("event.csv").toString(), file("recurrent.csv").toString(),
+                                          file("reminder.csv").toString());
+    }
+
+    @Test
+    public void firstLoadWritesTheSnapshotAndTheNextOneMatches() throws IOException {
+        writeCsvs("1|A|d|2026-03-02T09:00|2026-03-02T10:00|Room|Work",
+                  "2|B|d|2026-03-03T09:00|2026-03-03T10:00|Room|Home");
+        BinarySnapshot fromCsv = load();
+        assertEquals(2, fromCsv.getEvents().size());
+        assertEquals(Duration.ofMinutes(20), fromCsv.getReminders().get(0).getRemindDuration()); // last line wins
+
+        BinarySnapshot onDisk = BinarySnapshot.read(snap.toString(), currentFingerprint());
+        assertNotNull(onDisk);
+        assertSameTables(fromCsv, onDisk);
+        assertSameTables(fromCsv, load());
+    }
+
+    @Test
+    public void corruptSnapshotFallsBackToCsvAndIsRewritten() throws IOException {
+        writeCsvs("1|A|d|2026-03-02T09:00|2026-03-02T10:00|Room|Work");
+        BinarySnapshot fromCsv = load();
+        byte[] data = Files.readAllBytes(snap);
+        data[data.length / 2] ^= 0x01;
+        Files.write(snap, data);
+        assertNull(BinarySnapshot.read(snap.toString(), currentFingerprint()));
+
+        assertSameTables(fromCsv, load());
+        assertNotNull(BinarySnapshot.read(snap.toString(), currentFingerprint()));
+    }
+
+    @Test
+    public void touchedCsvInvalidatesTheSnapshot() throws IOException {
+        writeCsvs("1|A|d|2026-03-02T09:00|2026-03-02T10:00|Room|Work");
+        assertEquals(1, load().getEvents().size());
+
+        Files.write(file("event.csv"), Arrays.asList("5|E|d|2026-03-04T09:00|2026-03-04T10:00|Lab|Work"),
+                    StandardOpenOption.APPEND);
+        BinarySnapshot reloaded = load();
+        assertEquals(2, reloaded.getEvents().size());
+        assertEquals(5, reloaded.getEvents().get(1).getEventId());
+    }
+
+    @Test
+    public void csvWithSecondsLoadsWithoutASnapshot() throws IOException {
+        writeCsvs("1|A|d|2026-03-02T09:00:30|2026-03-02T10:00|Room|Work");
+        BinarySnapshot fromCsv = load();
+        assertEquals(LocalDateTime.of(2026, 3, 2, 9, 0, 30), fromCsv.getEvents().get(0).getStartDateTimeAsLdt());
+        assertFalse(Files.exists(snap));
+        assertEquals(1, load().getEvents().size());
+    }
+}
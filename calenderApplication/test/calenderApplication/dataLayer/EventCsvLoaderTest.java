@@ -0,0 +1,137 @@
+package calenderApplication.dataLayer;
+
+import calenderApplication.businessLogic.Event;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class EventCsvLoaderTest {
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("event", ".csv");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private void writeEvents(int lines) throws IOException {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 8, 0);
+        try (BufferedWriter w = Files.newBufferedWriter(file, Charset.defaultCharset())) {
+            for (int i = 1; i <= lines; i++) {
+                // every 7th start has seconds, so both LocalDateTime.toString shapes occur
+                LocalDateTime start = base.plusMinutes(i * 37L).plusSeconds(i % 7 == 0 ? 15 : 0);
+                w.write(i + "|Meeting " + i + "|Notes for " + i + "|" + start + "|" + start.plusHours(1)
+                        + "|Room " + (i % 40) + "|" + (i % 2 == 0 ? "Work" : "Personal"));
+                w.newLine();
+                if (i % 1000 == 0) w.write("broken|line\n\n");
+            }
+        }
+    }
+
+    private static void assertSameEvents(List<Event> expected, List<Event> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Event a = expected.get(i);
+            Event b = actual.get(i);
+            assertEquals(a.getEventId(), b.getEventId());
+            assertEquals(a.getTitle(), b.getTitle());
+            assertEquals(a.getDescription(), b.getDescription());
+            assertEquals(a.getStartDateTimeAsLdt(), b.getStartDateTimeAsLdt());
+            assertEquals(a.getEndDateTimeAsLdt(), b.getEndDateTimeAsLdt());
+            assertEquals(a.getLocation(), b.getLocation());
+            assertEquals(a.getCategory(), b.getCategory());
+        }
+    }
+
+    @Test
+    public void missingFileGivesEmptyList() throws IOException {
+        Files.delete(file);
+        assertTrue(EventCsvLoader.load(file.toString()).isEmpty());
+    }
+
+    @Test
+    public void skipsMalformedLinesAndKeepsFileOrder() throws IOException {
+        Files.write(file, ("3|B|d|2026-02-01T09:00|2026-02-01T10:00|Here|Work\n"
+                + "not an event\n"
+                + "x|C|d|2026-02-01T09:00|2026-02-01T10:00|Here|Work\n"
+                + "1|A|d|2026-02-02T09:00:30|2026-02-02T10:00|There|Personal").getBytes(Charset.defaultCharset()));
+        List<Event> events = EventCsvLoader.load(file.toString());
+        assertEquals(2, events.size());
+        assertEquals(3, events.get(0).getEventId());
+        assertEquals(1, events.get(1).getEventId());
+        assertEquals(LocalDateTime.of(2026, 2, 2, 9, 0, 30), events.get(1).getStartDateTimeAsLdt());
+        assertEquals("Personal", events.get(1).getCategory());
+    }
+
+    @Test
+    public void emptyFileGivesEmptyList() throws IOException {
+        assertTrue(EventCsvLoader.load(file.toString()).isEmpty());
+        assertTrue(EventCsvLoader.load(file.toString(), 16).isEmpty());
+    }
+
+    @Test
+    public void smallBlocksGiveTheSameEvents() throws IOException {
+        writeEvents(2_000);
+        List<Event> whole = EventCsvLoader.load(file.toString());
+        assertEquals(2_000, whole.size());
+        // lines cut at block ends, and lines longer than the block (the block grows)
+        for (int blockBytes : new int[]{8, 100, 4096, 65_537}) {
+            assertSameEvents(whole, EventCsvLoader.load(file.toString(), blockBytes));
+        }
+    }
+
+    @Test
+    public void lastLineWithoutNewlineAtBlockEnd() throws IOException {
+        String first = "1|A|d|2026-02-01T09:00|2026-02-01T10:00|Here|Work\n";
+        String last = "2|B|d|2026-02-02T09:00|2026-02-02T10:00|There|Work";
+        Files.write(file, (first + last).getBytes(Charset.defaultCharset()));
+        for (int blockBytes : new int[]{first.length(), first.length() + last.length(), 1 << 20}) {
+            List<Event> events = EventCsvLoader.load(file.toString(), blockBytes);
+            assertEquals(2, events.size());
+            assertEquals("There", events.get(1).getLocation());
+        }
+    }
+
+    @Test
+    public void fileCanBeRewrittenRightAfterLoading() throws IOException {
+        writeEvents(100);
+        assertEquals(100, EventCsvLoader.load(file.toString()).size());
+        // what FileIOManager's legacy update/delete does next: truncate and rewrite the same file
+        Files.write(file, "7|T|d|2026-02-01T09:00|2026-02-01T10:00|Here|Work\n".getBytes(Charset.defaultCharset()));
+        List<Event> events = EventCsvLoader.load(file.toString());
+        assertEquals(1, events.size());
+        assertEquals(7, events.get(0).getEventId());
+    }
+
+    /** Byte path against the Scanner path it replaced: same events in the same order. */
+    @Test
+    public void matchesScannerPath() throws IOException {
+        writeEvents(3_000);
+        List<Event> viaLoader = EventCsvLoader.load(file.toString());
+        assertEquals(3_000, viaLoader.size());
+        assertSameEvents(EventCsvLoader.loadWithScanner(file, Charset.defaultCharset()), viaLoader);
+    }
+
+    /** A file just over one chunk, so it is split and parsed in parallel. */
+    @Test
+    public void matchesScannerPathAcrossChunks() throws IOException {
+        int lines = EventCsvLoader.MIN_CHUNK_BYTES / 60;
+        writeEvents(lines);
+        assertTrue(Files.size(file) > EventCsvLoader.MIN_CHUNK_BYTES);
+        List<Event> viaLoader = EventCsvLoader.load(file.toString());
+        assertEquals(lines, viaLoader.size());
+        assertSameEvents(EventCsvLoader.loadWithScanner(file, Charset.defaultCharset()), viaLoader);
+    }
+}
@@ -0,0 +1,201 @@
+package calenderApplication.dataLayer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class JournalFileTest {
+    private static final long NO_SIZE_LIMIT = Long.MAX_VALUE;
+
+    @Rule
+    public TemporaryFolder dir = new TemporaryFolder();
+
+    private Path snapshot;
+    private Path log;
+    private Path oldLog;
+    private ExecutorService compactor;
+
+    @Before
+    public void setUp() {
+        snapshot = dir.getRoot().toPath().resolve("event.csv");
+        log = dir.getRoot().toPath().resolve("event.log");
+        oldLog = dir.getRoot().toPath().resolve("event.log.old");
+        compactor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        compactor.shutdownNow();
+        compactor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private JournalFile journal(long thresholdBytes) {
+        return new JournalFile(snapshot.toString(), log.toString(), thresholdBytes, compactor);
+    }
+
+    /** Wait until every compaction submitted so far has finished. */
+    private void drainCompactor() throws Exception {
+        compactor.submit(() -> { }).get(10, TimeUnit.SECONDS);
+    }
+
+    private static void write(Path path, String... lines) throws IOException {
+        Files.write(path, Arrays.asList(lines));
+    }
+
+    private static List<String> lines(Path path) throws IOException {
+        return Files.exists(path) ? Files.readAllLines(path) : Collections.emptyList();
+    }
+
+    @Test
+    public void replaysCreateUpdateDeleteOnTheSnapshot() throws IOException {
+        write(snapshot, "1|one", "2|two", "3|three");
+        JournalFile j = journal(NO_SIZE_LIMIT);
+        j.appendUpsert(JournalFile.OP_CREATE, "4|four");
+        j.appendUpsert(JournalFile.OP_UPDATE, "2|TWO");
+        j.appendDelete(3);
+        j.appendUpsert(JournalFile.OP_UPDATE, "4|FOUR");
+
+        assertEquals(Arrays.asList("1|one", "2|TWO", "4|FOUR"), j.readRecords());
+        assertEquals(Arrays.asList("1|one", "2|two", "3|three"), lines(snapshot)); // untouched until compaction
+        assertEquals(Arrays.asList("C|4|four", "U|2|TWO", "D|3", "U|4|FOUR"), lines(log));
+        assertTrue(j.contains(4));
+        assertFalse(j.contains(3));
+    }
+
+    @Test
+    public void tornAndMalformedLogLinesAreSkipped() throws IOException {
+        write(snapshot, "1|one|a", "2|two|b");
+        // a crash mid-append leaves a short last line without its newline
+        Files.write(log, "U|1|ONE|A\nX|2|bad op\nD\nC|3|thr".getBytes());
+        JournalFile j = journal(NO_SIZE_LIMIT);
+
+        Map<Integer, String> records = j.load(path -> {
+            try {
+                return lines(Path.of(path));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, JournalFile::keyOf, record -> record.split("\\|").length == 3 ? record : null);
+
+        assertEquals(Arrays.asList(1, 2), new ArrayList<>(records.keySet()));
+        assertEquals("1|ONE|A", records.get(1));
+        assertEquals("2|two|b", records.get(2));
+    }
+
+    @Test
+    public void leftoverOldLogIsFoldedOnTheNextCompaction() throws IOException {
+        write(snapshot, "1|one", "2|two");
+        // a crash after rotating left .old behind; newer appends went to the fresh log
+        write(oldLog, "U|1|ONE", "C|3|three");
+        write(log, "D|2", "U|3|THREE");
+        JournalFile j = journal(NO_SIZE_LIMIT);
+        assertEquals(Arrays.asList("1|ONE", "3|THREE"), j.readRecords());
+
+        j.compactNow();
+        assertEquals(Arrays.asList("1|ONE", "3|THREE"), lines(snapshot));
+        assertFalse(Files.exists(log));
+        assertFalse(Files.exists(oldLog));
+        assertEquals(Arrays.asList("1|ONE", "3|THREE"), j.readRecords());
+
+        // replaying an old log a second time (crash before it was deleted) is harmless
+        write(oldLog, "U|1|ONE", "C|3|three");
+        write(log, "U|3|THREE");
+        j.compactNow();
+        assertEquals(Arrays.asList("1|ONE", "3|THREE"), lines(snapshot));
+    }
+
+    @Test
+    public void sizeThresholdCompactsInTheBackground() throws Exception {
+        write(snapshot, "1|one");
+        JournalFile j = journal(64);
+        // 20 bytes per log line: the fourth record takes the log to 64 bytes
+        for (int i = 2; i <= 5; i++) j.appendUpsert(JournalFile.OP_CREATE, i + "|record number " + i);
+        drainCompactor();
+
+        assertEquals(Arrays.asList("1|one", "2|record number 2", "3|record number 3", "4|record number 4",
+                                   "5|record number 5"), lines(snapshot));
+        assertEquals(0, j.logSize());
+    }
+
+    @Test
+    public void staleRatioTriggersCompaction() throws Exception {
+        List<String> base = new ArrayList<>();
+        for (int id = 1; id <= 10; id++) base.add(id + "|v0");
+        write(snapshot, base.toArray(new String[0]));
+        JournalFile j = journal(NO_SIZE_LIMIT);
+        j.readRecords(); // the stale count starts once the table was read
+
+        // every overwrite makes one line stale; 63 of 73 lines is over half, but below the minimum of 64
+        String[] latest = new String[11];
+        for (int k = 1; k <= 63; k++) {
+            int id = (k - 1) % 10 + 1;
+            latest[id] = id + "|v" + k;
+            j.appendUpsert(JournalFile.OP_UPDATE, latest[id]);
+        }
+        drainCompactor();
+        assertTrue(Files.exists(log));
+        assertEquals(base, lines(snapshot));
+
+        latest[4] = "4|v64";
+        j.appendUpsert(JournalFile.OP_UPDATE, latest[4]);
+        drainCompactor();
+        assertFalse(Files.exists(log));
+        List<String> expected = new ArrayList<>(Arrays.asList(latest).subList(1, 11));
+        assertEquals(expected, lines(snapshot));
+        assertEquals(expected, j.readRecords());
+    }
+
+    @Test
+    public void staleLinesAreCountedWithinTheLog() {
+        assertEquals(0, JournalFile.staleWithinLog(Arrays.asList("C|1|a", "C|2|b")));
+        // superseded upsert, then a delete of a record the log created: both lines are dead
+        assertEquals(3, JournalFile.staleWithinLog(Arrays.asList("C|1|a", "U|1|b", "D|1")));
+        // delete of a snapshot record, and a torn line
+        assertEquals(2, JournalFile.staleWithinLog(Arrays.asList("D|5", "U|")));
+    }
+
+    @Test
+    public void appendsDuringCompactionAreNotLost() throws Exception {
+        write(snapshot, "0|base");
+        JournalFile j = journal(NO_SIZE_LIMIT);
+        int records = 3000;
+        AtomicBoolean appending = new AtomicBoolean(true);
+        // folds back to back while the main thread appends, so appends hit every phase of a fold
+        Thread folder = new Thread(() -> {
+            while (appending.get()) j.compactNow();
+        });
+        folder.start();
+        for (int id = 1; id <= records; id++) {
+            j.appendUpsert(JournalFile.OP_CREATE, id + "|r" + id);
+            if (id % 3 == 0) j.appendUpsert(JournalFile.OP_UPDATE, id + "|u" + id);
+        }
+        appending.set(false);
+        folder.join();
+
+        List<String> all = j.readRecords();
+        assertEquals(records + 1, all.size());
+        assertTrue(all.contains("3000|u3000"));
+        assertTrue(all.contains("2999|r2999"));
+
+        j.compactNow();
+        assertEquals(new HashSet<>(all), new HashSet<>(lines(snapshot)));
+        assertFalse(Files.exists(log));
+        assertFalse(Files.exists(oldLog));
+    }
+}